@@ -0,0 +1,53 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.Dungeon;
+import model.GenerationOptions;
+import model.MazeAlgorithm;
+import utils.Randomizer;
+
+/**
+ * This class represents a benchmark of generating game dungeons of different sizes,
+ * interconnectivity, wrapping and maze algorithm. Every dungeon is built from the same seed,
+ * so a given set of parameters builds the same dungeon on every commit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DungeonBenchmark {
+  static final int SEED = 42;
+
+  @Param({"10", "50", "200"})
+  int size;
+
+  @Param({"0", "10"})
+  int interconnectivity;
+
+  @Param({"false", "true"})
+  boolean wrapping;
+
+  @Param({"KRUSKAL", "WILSON", "BACKTRACKER", "ELLER"})
+  MazeAlgorithm algorithm;
+
+  @Benchmark
+  public Dungeon buildDungeon() {
+    return new Dungeon(this.size, this.size, this.wrapping, this.interconnectivity,
+            20, 5, new GenerationOptions().withMazeAlgorithm(this.algorithm),
+            new Randomizer(SEED).getRandom());
+  }
+}
@@ -0,0 +1,103 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.AdventureGameModel;
+import model.Direction;
+import model.GameModel;
+import model.Location;
+import utils.Randomizer;
+
+/**
+ * This class represents a benchmark of the player actions of a game on dungeons of different
+ * sizes. Every game is built from the same seed, so the player acts on the same dungeon on
+ * every commit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameActionBenchmark {
+  @Param({"10", "50", "200"})
+  int size;
+
+  private GameModel model;
+  private Direction forth;
+  private Direction back;
+
+  @Setup(Level.Trial)
+  public void createGame() {
+    this.model = newGame(this.size);
+
+    // the player moves back and forth between the start and a neighbour without a monster
+    Location start = this.model.getGameStart();
+    for (Direction d : start.getPossibleDirections()) {
+      Location neighbour = this.model.getDungeon().getLocation(start.getNeighbourIndex(d));
+
+      if (!neighbour.hasMonster()) {
+        this.forth = d;
+        this.back = d.getOpposite();
+        break;
+      }
+    }
+    if (this.forth == null) {
+      throw new IllegalStateException("Every neighbour of the start has a monster!");
+    }
+  }
+
+  @Benchmark
+  public Location movePlayer() {
+    this.model.movePlayer(this.forth);
+    this.model.movePlayer(this.back);
+
+    return this.model.getPlayer().getCurrentLocation();
+  }
+
+  @Benchmark
+  public boolean shootArrow(ShootingGame game) {
+    return game.model.shootArrow(game.direction, 5);
+  }
+
+  @Benchmark
+  public String getGameState() {
+    return this.model.getGameState();
+  }
+
+  private static GameModel newGame(int size) {
+    return new AdventureGameModel(new Randomizer(DungeonBenchmark.SEED).getRandom(),
+            size, size, false, 10, 20, 5);
+  }
+
+  /**
+   * This class represents the game a single arrow is shot in. Shooting uses up the arrows of
+   * the player and can kill monsters, so every shot is taken in a new game. Building the game
+   * is not measured, but it runs between every shot, so the results of the shooting benchmark
+   * are only meaningful relative to each other.
+   */
+  @State(Scope.Thread)
+  public static class ShootingGame {
+    private GameModel model;
+    private Direction direction;
+
+    @Setup(Level.Invocation)
+    public void createGame(GameActionBenchmark benchmark) {
+      this.model = newGame(benchmark.size);
+      this.direction = this.model.getGameStart().getPossibleDirections().iterator().next();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package view;
+
+import java.awt.Image;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.AdventureGameModel;
+import model.Location;
+import utils.Randomizer;
+
+/**
+ * This class represents a benchmark of drawing the image of a dungeon location, the work done
+ * by the dungeon map for every tile missing from its cache. It is in the view package as the
+ * location images are not public. The dungeon is built from a fixed seed, so the same location
+ * is drawn on every commit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PanelImageBenchmark {
+  @Param({"64", "100"})
+  int tileSize;
+
+  private Location start;
+
+  @Setup
+  public void createDungeon() {
+    // the player visits the start, so it is drawn in full
+    this.start = new AdventureGameModel(new Randomizer(42).getRandom(), 10, 10, false, 10, 20, 5)
+            .getGameStart();
+  }
+
+  @Benchmark
+  public Image drawPlayerTile() {
+    return new PanelImage(this.start, true, this.tileSize, this.tileSize).getImage();
+  }
+
+  @Benchmark
+  public Image drawTile() {
+    return new PanelImage(this.start, false, this.tileSize, this.tileSize).getImage();
+  }
+}
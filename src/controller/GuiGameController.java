@@ -1,17 +1,25 @@
 package controller;
 
 import java.io.InputStreamReader;
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
 
 import model.AdventureGameModel;
 import model.Direction;
+import model.Dungeon;
 import model.GameModel;
+import model.GenerationOptions;
+import model.GenerationPhase;
 import model.Treasure;
 import model.Weapon;
 import utils.Randomizer;
 import view.GameView;
+import view.GenerationProgressView;
 import view.GuiGameView;
 import view.NewInputView;
 
@@ -24,6 +32,8 @@ public class GuiGameController implements GuiGameFeatures {
   private GameModel model;
   private GameView view;
   private String[] args;
+  // the generation of a new model running in the background, if any
+  private ModelGenerator generator;
 
   /**
    * Default constructor for the GUI controller. It inflates a 'enter dungeon paramaters'
@@ -43,8 +53,21 @@ public class GuiGameController implements GuiGameFeatures {
    * @param v the view
    */
   public GuiGameController(GameModel m, GameView v) {
+    this(m, v, null);
+  }
+
+  /**
+   * Constructor for GUI controller where the model and view are constructed beforehand and
+   * passed, with the dungeon arguments used to reset the game.
+   *
+   * @param m    the model
+   * @param v    the view
+   * @param args the dungeon arguments
+   */
+  public GuiGameController(GameModel m, GameView v, String[] args) {
     this.model = m;
     this.view = v;
+    this.args = args;
   }
 
   private void run() {
@@ -176,24 +199,19 @@ public class GuiGameController implements GuiGameFeatures {
 
   @Override
   public void resetGame() {
-    this.view.delete();
-
-    this.model = createNewModel(this.args);
-    this.view = new GuiGameView(this.model);
+    // kept until the new model is ready, so a cancelled game goes back to it as it was
+    this.view.setVisible(false);
 
-    this.setView();
+    this.generateNewModel(this.args);
   }
 
   @Override
   public void restartGame() {
-    this.view.delete();
+    this.view.setVisible(false);
 
     this.args = new NewInputView().getDungeonParams();
 
-    this.model = createNewModel(this.args);
-    this.view = new GuiGameView(this.model);
-
-    this.setView();
+    this.generateNewModel(this.args);
   }
 
   @Override
@@ -211,8 +229,8 @@ public class GuiGameController implements GuiGameFeatures {
   }
 
   private int getDirection(int xOne, int yOne, int xTwo, int yTwo) {
-    int rows = this.model.getDungeon().getDungeonGrid().length;
-    int cols = this.model.getDungeon().getDungeonGrid()[0].length;
+    int rows = this.model.getDungeon().getNoOfRows();
+    int cols = this.model.getDungeon().getNoOfColumns();
 
     if ((xTwo - xOne) == -1 && (yTwo - yOne) == 0) {
       return 0;
@@ -236,35 +254,149 @@ public class GuiGameController implements GuiGameFeatures {
   }
 
   private GameModel createNewModel(String[] args) {
-    // parse args
-    int rows;
-    int cols;
-    int interconn;
-    int percent;
-    int difficulty;
-    boolean wrap;
+    return new DungeonParams(args).createModel(new GenerationOptions());
+  }
 
-    try {
-      rows = Integer.parseInt(args[0]);
-      cols = Integer.parseInt(args[1]);
-      wrap = Boolean.parseBoolean(args[2]);
-      interconn = Integer.parseInt(args[3]);
-      percent = Integer.parseInt(args[4]);
-      difficulty = Integer.parseInt(args[5]);
-    } catch (NumberFormatException nfe) {
-      throw new IllegalArgumentException("Unable to parse dungeon arguments, "
-              + "please check and try again");
+  /**
+   * Method to generate a new model in the background, showing the progress of the generation.
+   * The game switches to the new model when it is ready. If the generation is cancelled or
+   * fails, the current game is shown again.
+   *
+   * @param args the dungeon arguments
+   */
+  private void generateNewModel(String[] args) {
+    // the arguments are checked right away, only the generation runs in the background
+    DungeonParams params = new DungeonParams(args);
+
+    this.generator = new ModelGenerator(params, new GenerationProgressView());
+    this.generator.execute();
+  }
+
+  /**
+   * Method to cancel the generation of a new model, if one is running. The current game is
+   * shown again once the generation stops.
+   *
+   * @return true if a running generation was cancelled, false otherwise
+   */
+  public boolean cancelNewGame() {
+    return Objects.nonNull(this.generator) && this.generator.cancel(true);
+  }
+
+  private void showModel(GameModel m) {
+    if (Objects.isNull(m)) {
+      // there is no game to go back to
+      this.quitGame();
+      return;
     }
 
-    Random rand = new Randomizer(42).getRandom();
-    GameModel newModel;
+    this.view.delete();
+    this.model = m;
+    this.view = new GuiGameView(this.model);
 
-    try {
-      newModel = new AdventureGameModel(rand, rows, cols, wrap, interconn, percent, difficulty);
-    } catch (IllegalStateException | IllegalArgumentException e) {
-      throw new IllegalArgumentException(e.getMessage());
+    this.setView();
+  }
+
+  private void showCurrentModel() {
+    this.view.setVisible(true);
+
+    this.setView();
+  }
+
+  /**
+   * This class represents the parsed dungeon arguments given by the user.
+   */
+  private static class DungeonParams {
+    private final int rows;
+    private final int cols;
+    private final boolean wrap;
+    private final int interconn;
+    private final int percent;
+    private final int difficulty;
+
+    DungeonParams(String[] args) throws IllegalArgumentException {
+      try {
+        this.rows = Integer.parseInt(args[0]);
+        this.cols = Integer.parseInt(args[1]);
+        this.wrap = Boolean.parseBoolean(args[2]);
+        this.interconn = Integer.parseInt(args[3]);
+        this.percent = Integer.parseInt(args[4]);
+        this.difficulty = Integer.parseInt(args[5]);
+      } catch (NumberFormatException nfe) {
+        throw new IllegalArgumentException("Unable to parse dungeon arguments, "
+                + "please check and try again");
+      }
+    }
+
+    GameModel createModel(GenerationOptions options) throws IllegalArgumentException {
+      Random rand = new Randomizer(42).getRandom();
+
+      try {
+        return new AdventureGameModel(new Dungeon(this.rows, this.cols, this.wrap,
+                this.interconn, this.percent, this.difficulty, options, rand));
+      } catch (IllegalStateException | IllegalArgumentException e) {
+        throw new IllegalArgumentException(e.getMessage());
+      }
     }
+  }
 
-    return newModel;
+  /**
+   * This class represents the background generation of a new model. The progress of each
+   * generation phase is published as {phase ordinal, done, total} and shown on the event
+   * dispatch thread.
+   */
+  private class ModelGenerator extends SwingWorker<GameModel, int[]> {
+    private final DungeonParams params;
+    private final GenerationProgressView progress;
+
+    ModelGenerator(DungeonParams params, GenerationProgressView progress) {
+      this.params = params;
+      this.progress = progress;
+    }
+
+    @Override
+    protected GameModel doInBackground() {
+      return this.params.createModel(new GenerationOptions().withListener((phase, done, total) -> {
+        if (this.isCancelled()) {
+          // stops the generation
+          throw new CancellationException();
+        }
+
+        this.publish(new int[]{phase.ordinal(), done, total});
+      }));
+    }
+
+    @Override
+    protected void process(List<int[]> chunks) {
+      // only the latest progress is shown
+      int[] latest = chunks.get(chunks.size() - 1);
+      this.progress.setProgress(GenerationPhase.values()[latest[0]], latest[1], latest[2]);
+
+      if (this.progress.isCancelled()) {
+        this.cancel(true);
+      }
+    }
+
+    @Override
+    protected void done() {
+      this.progress.close();
+      if (generator == this) {
+        generator = null;
+      }
+
+      if (this.isCancelled()) {
+        showCurrentModel();
+        return;
+      }
+
+      try {
+        showModel(this.get());
+      } catch (ExecutionException ee) {
+        showCurrentModel();
+        view.showMessage(ee.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        showCurrentModel();
+      }
+    }
   }
 }
@@ -1,19 +1,19 @@
 package controller;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.InputMismatchException;
-import java.util.List;
 import java.util.Objects;
 import java.util.Scanner;
-import java.util.Set;
+import java.util.StringJoiner;
 
 import model.Direction;
 import model.GameModel;
 import model.Item;
+import model.Location;
 import model.Player;
 import model.Smell;
+import model.Treasure;
+import model.Weapon;
 
 /**
  * This class represents a text-based adventure game controller.
@@ -182,20 +182,11 @@ public class TextBasedGameController implements GameController {
 
     sb.append("\n");
 
-    List<Item> items = player.getCurrentLocation().getContent();
-    if (items.size() > 0) {
-      sb.append("You find ");
-      Set<Item> distinct = new HashSet<>(items);
-
-      prefix = "";
-      for (Item item : distinct) {
-        sb.append(prefix);
-        prefix = ", ";
-        sb.append(Collections.frequency(items, item)).append(" ").append(item.getName());
-      }
-
-      sb.append(" here\n");
-    }
+    StringJoiner found = new StringJoiner(", ", "You find ", " here\n");
+    found.setEmptyValue("");
+    addItemCounts(found, player.getCurrentLocation(), Treasure.values());
+    addItemCounts(found, player.getCurrentLocation(), Weapon.values());
+    sb.append(found);
 
     Smell smell = player.getCurrentLocation().getSmell();
     if (smell == Smell.LESS_PUNGENT) {
@@ -206,4 +197,14 @@ public class TextBasedGameController implements GameController {
 
     return sb.toString();
   }
+
+  private static void addItemCounts(StringJoiner found, Location location, Item[] items) {
+    for (Item item : items) {
+      int count = location.itemCount(item);
+
+      if (count > 0) {
+        found.add(count + " " + item.getName());
+      }
+    }
+  }
 }
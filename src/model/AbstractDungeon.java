@@ -0,0 +1,664 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import utils.Tuple;
+
+/**
+ * This class represents the parts of a game dungeon that do not depend on how its locations
+ * are stored. It validates the dungeon arguments, picks the start and end caves, and fills the
+ * dungeon with treasure, arrows and monsters. Subclasses build the paths with a
+ * {@link DungeonBuilder}, store the locations, and then call 'populate()'.
+ */
+abstract class AbstractDungeon implements IDungeon {
+  protected final Random rand;
+  protected final GenerationOptions options;
+  private final GenerationStats stats;
+
+  protected final int rows;
+  protected final int cols;
+
+  private final int MIN_DIST;
+
+  // the most cells within a distance of 2 of a cell, see 'searchAround()'
+  static final int MAX_NEARBY = 13;
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  // reused by every smell update, as there is one for each monster placed or killed
+  private final int[] nearbyCells;
+  private final int[] nearbyDistances;
+  // no. of living monsters within a distance of 1 and 2 of each location, allocated by
+  // 'populate()', dungeons populated otherwise need not hold them
+  private byte[] monstersNear;
+  private byte[] monstersAround;
+
+  // the indices of the caves in row-major order, built once the paths are known
+  private int[] caves;
+
+  private Location start;
+  private Location end;
+
+  /**
+   * Validate the game dungeon arguments and initialize the common dungeon state.
+   *
+   * @param rows              the no. of rows in the game dungeon
+   * @param columns           the no. of columns in the game dungeon
+   * @param interconnectivity the degree of interconnectivity required for the dungeon
+   * @param treasurePct       the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters      the no. of monsters to be put in the caves, at least 1
+   * @param options           the optional settings used while generating the dungeon
+   * @param rand              the Random object, can be truly random or deterministic
+   * @throws IllegalArgumentException if rows, columns are less or equal to 0
+   *                                  or the interconnectivity is less than 0
+   *                                  or the percent of treasure caves is not between 0 and 100
+   *                                  or the generation options are null
+   */
+  AbstractDungeon(int rows, int columns, int interconnectivity, double treasurePct,
+                  int noOfMonsters, GenerationOptions options, Random rand)
+          throws IllegalArgumentException {
+    if (rows <= 0) {
+      throw new IllegalArgumentException("No. of rows should be positive!");
+    } else if (columns <= 0) {
+      throw new IllegalArgumentException("No. of columns should be positive!");
+    } else if (interconnectivity < 0) {
+      throw new IllegalArgumentException("Interconnectivity cannot be less than zero!");
+    } else if (treasurePct < 0 || treasurePct > 100) {
+      throw new IllegalArgumentException("Percentage of treasure caves should be "
+              + "between 0 and 100!");
+    } else if (noOfMonsters < 1) {
+      throw new IllegalArgumentException("There should be atleast one monster at the end!");
+    } else if (options == null) {
+      throw new IllegalArgumentException("Generation options cannot be null!");
+    }
+
+    this.rand = rand;
+    this.options = options;
+    this.stats = options.getStats() == null ? GenerationStats.disabled() : options.getStats();
+    this.rows = rows;
+    this.cols = columns;
+
+    this.MIN_DIST = 5;
+    this.nearbyCells = new int[MAX_NEARBY];
+    this.nearbyDistances = new int[MAX_NEARBY];
+  }
+
+  /**
+   * Method to get the location at the given position, which is known to be inside the grid.
+   *
+   * @param row the row of the location
+   * @param col the column of the location
+   * @return the location
+   */
+  abstract Location cellAt(int row, int col);
+
+  /**
+   * Method to get the index of the neighbour of a cell in the given direction.
+   * Subclasses can override it to avoid looking up the location of the cell.
+   *
+   * @param cell the index of the cell
+   * @param d    the direction of the neighbour
+   * @return the index of the neighbour, or -1 if there is no path in the given direction
+   */
+  int getNeighbourIndex(int cell, Direction d) {
+    return this.cellAt(cell / this.cols, cell % this.cols).getNeighbourIndex(d);
+  }
+
+  /**
+   * Method to check if a cell is a cave.
+   * Subclasses can override it to avoid looking up the location of the cell.
+   *
+   * @param cell the index of the cell
+   * @return true if the cell is a cave, false otherwise
+   */
+  boolean isCave(int cell) {
+    return this.cellAt(cell / this.cols, cell % this.cols).isCave();
+  }
+
+  /**
+   * Method to set the smell at a cell.
+   * Subclasses can override it to avoid looking up the location of the cell.
+   *
+   * @param cell  the index of the cell
+   * @param smell the new smell
+   */
+  void updateSmell(int cell, Smell smell) {
+    ((MutableLocation) this.cellAt(cell / this.cols, cell % this.cols)).updateSmell(smell);
+  }
+
+  /**
+   * Method to pick the start and end caves and fill the dungeon with treasure, arrows and
+   * monsters. Subclasses call it once every location can be reached through 'cellAt()'.
+   *
+   * @param treasurePct  the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters the no. of monsters to be put in the caves, at least 1
+   * @throws IllegalStateException if no start and end caves are far enough from each other
+   */
+  void populate(double treasurePct, int noOfMonsters) throws IllegalStateException {
+    this.monstersNear = new byte[this.rows * this.cols];
+    this.monstersAround = new byte[this.rows * this.cols];
+    this.caves = this.indexCaves();
+
+    this.stats.begin(GenerationStep.START_END);
+    // only needed to find the start and end, so its buffers can go once they are found
+    Tuple<Location, Location> endpoints = this.getStartAndEnd(new BreadthFirstSearch(this));
+    this.stats.end();
+
+    if (endpoints.getX().equals(endpoints.getY())) {
+      throw new IllegalStateException("Couldn't find start and end caves at distance of 5 "
+              + "for dungeon of this size and interconnectivity! Try rebuilding dungeon or"
+              + " increasing size or decreasing interconnectivity.");
+    }
+    this.start = endpoints.getX();
+    this.end = endpoints.getY();
+
+    PhaseProgress progress = new PhaseProgress(this.options.getListener(),
+            GenerationPhase.POPULATION, 3);
+    this.stats.begin(GenerationStep.TREASURE);
+    this.addTreasure(treasurePct);
+    this.stats.end();
+    progress.update(1);
+
+    this.stats.begin(GenerationStep.ARROWS);
+    this.addArrows(treasurePct);
+    this.stats.end();
+    progress.update(2);
+
+    this.stats.begin(GenerationStep.MONSTERS);
+    this.addMonsters(noOfMonsters);
+    this.stats.end();
+    progress.finish();
+  }
+
+  /**
+   * Method to clear the smell of a monster that just died from the locations around it.
+   *
+   * @param dwelling the location of the dead monster
+   * @return the locations whose smell changed
+   */
+  List<Location> removeMonsterSmell(Location dwelling) {
+    List<Location> changed = new ArrayList<>();
+    this.spreadSmell(dwelling.getIndex(), -1, changed);
+
+    return changed;
+  }
+
+  // adds the locations whose smell changed to 'changed', unless it is null
+  private void spreadSmell(int dwelling, int change, List<Location> changed) {
+    int noOfCells = this.searchAround(dwelling, this.nearbyCells, this.nearbyDistances);
+    this.stats.recordSearch(noOfCells);
+
+    for (int i = 0; i < noOfCells; i++) {
+      int cell = this.nearbyCells[i];
+      Smell before = smellOf(this.monstersNear[cell], this.monstersAround[cell]);
+
+      if (this.nearbyDistances[i] <= 1) {
+        this.monstersNear[cell] += change;
+      }
+      this.monstersAround[cell] += change;
+
+      Smell after = smellOf(this.monstersNear[cell], this.monstersAround[cell]);
+      if (after != before) {
+        this.updateSmell(cell, after);
+        if (changed != null) {
+          changed.add(this.cellAt(cell / this.cols, cell % this.cols));
+        }
+      }
+    }
+  }
+
+  /**
+   * Method to find the cells within a distance of 2 of a cell with a breadth-first search,
+   * which finds at most 'MAX_NEARBY' cells.
+   *
+   * @param index     the index of the cell
+   * @param cells     filled with the cells found, in the order of visit
+   * @param distances filled with the distance of each cell found
+   * @return the no. of cells found
+   */
+  int searchAround(int index, int[] cells, int[] distances) {
+    int noOfCells = 1;
+    cells[0] = index;
+    distances[0] = 0;
+
+    for (int head = 0; head < noOfCells; head++) {
+      int cell = cells[head];
+
+      if (distances[head] == 2) {
+        continue;
+      }
+      for (Direction d : DIRECTIONS) {
+        int neighbour = this.getNeighbourIndex(cell, d);
+
+        if (neighbour >= 0 && !contains(cells, noOfCells, neighbour)) {
+          cells[noOfCells] = neighbour;
+          distances[noOfCells] = distances[head] + 1;
+          noOfCells += 1;
+        }
+      }
+    }
+
+    return noOfCells;
+  }
+
+  private static boolean contains(int[] cells, int noOfCells, int cell) {
+    for (int i = 0; i < noOfCells; i++) {
+      if (cells[i] == cell) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Method to get the smell at a location from the no. of living monsters around it.
+   *
+   * @param near   the no. of living monsters within a distance of 1
+   * @param around the no. of living monsters within a distance of 2
+   * @return the smell
+   */
+  static Smell smellOf(int near, int around) {
+    if (near > 0 || around > 1) {
+      return Smell.MORE_PUNGENT;
+    } else if (around == 1) {
+      return Smell.LESS_PUNGENT;
+    } else {
+      return Smell.NONE;
+    }
+  }
+
+  private int[] indexCaves() {
+    int count = 0;
+    int[] found = new int[this.rows * this.cols];
+
+    for (int row = 0; row < this.rows; row++) {
+      for (int col = 0; col < this.cols; col++) {
+        if (this.isCave(row * this.cols + col)) {
+          found[count] = row * this.cols + col;
+          count += 1;
+        }
+      }
+    }
+
+    return Arrays.copyOf(found, count);
+  }
+
+  /*
+   * Candidate start caves are drawn at random, just like picking from a list of caves and
+   * removing each candidate that has no valid end. For a candidate, the valid ends are the
+   * caves not yet removed, in row-major order, so a cave removed at draw t is an end for
+   * the candidates drawn before t only.
+   */
+  private Tuple<Location, Location> getStartAndEnd(BreadthFirstSearch search) {
+    int[] caves = this.caves;
+    int[] removedAt = new int[caves.length];
+    Arrays.fill(removedAt, Integer.MAX_VALUE);
+
+    int[] remaining = new int[caves.length];
+    for (int i = 0; i < caves.length; i++) {
+      remaining[i] = i;
+    }
+    int noOfRemaining = caves.length;
+    int draw = 0;
+
+    PhaseProgress progress = new PhaseProgress(this.options.getListener(),
+            GenerationPhase.START_END, caves.length);
+
+    while (noOfRemaining != 0) {
+      progress.update(draw);
+
+      int batchSize = Math.min(this.options.getStartSearchBatch(), noOfRemaining);
+      int[] starts = new int[batchSize];
+
+      for (int i = 0; i < batchSize; i++) {
+        int caveIndex = this.rand.nextInt(noOfRemaining);
+        starts[i] = remaining[caveIndex];
+        removedAt[starts[i]] = draw;
+
+        System.arraycopy(remaining, caveIndex + 1, remaining, caveIndex,
+                noOfRemaining - caveIndex - 1);
+        noOfRemaining -= 1;
+        draw += 1;
+      }
+
+      int[] ends;
+      if (batchSize == 1) {
+        ends = new int[]{this.findEnd(caves, removedAt, starts[0], search)};
+      } else {
+        // concurrent searches cannot share the buffers of the given search
+        ends = IntStream.range(0, batchSize).parallel()
+                .map(i -> this.findEnd(caves, removedAt, starts[i], new BreadthFirstSearch(this)))
+                .toArray();
+      }
+
+      for (int i = 0; i < batchSize; i++) {
+        if (ends[i] >= 0) {
+          progress.finish();
+          // the other candidates of the batch were searched for nothing
+          for (int j = 0; j < batchSize - 1; j++) {
+            this.stats.recordRetry();
+          }
+          return new Tuple<>(this.getLocation(caves[starts[i]]),
+                  this.getLocation(caves[ends[i]]));
+        }
+      }
+
+      for (int i = 0; i < batchSize; i++) {
+        this.stats.recordRetry();
+      }
+    }
+
+    progress.finish();
+    return new Tuple<>(this.cellAt(0, 0), this.cellAt(0, 0));
+  }
+
+  private int findEnd(int[] caves, int[] removedAt, int start, BreadthFirstSearch bfs) {
+    bfs.search(caves[start], Integer.MAX_VALUE);
+    this.stats.recordSearch(bfs.getNoOfVisited());
+
+    int startX = caves[start] / this.cols;
+    int startY = caves[start] % this.cols;
+
+    for (int end = 0; end < caves.length; end++) {
+      int endX = caves[end] / this.cols;
+      int endY = caves[end] % this.cols;
+
+      if (removedAt[end] > removedAt[start] && startX != endX && startY != endY
+              && bfs.getDistance(caves[end]) >= this.MIN_DIST) {
+        return end;
+      }
+    }
+
+    return -1;
+  }
+
+  private void addTreasure(double percent) {
+    int noOfTreasureCaves = (int) Math.ceil((percent / 100.0) * this.getNoOfCaves());
+
+    Treasure[] treasures = new Treasure[]{Treasure.DIAMOND, Treasure.RUBY, Treasure.SAPPHIRE};
+
+    if (this.options.getPopulationMode() == PopulationMode.SHUFFLED) {
+      PartialShuffle shuffle = new PartialShuffle(this.caves.length, this.rand);
+
+      for (int i = 0; i < noOfTreasureCaves; i++) {
+        int cave = this.caves[shuffle.next()];
+        ((MutableLocation) this.cellAt(cave / this.cols, cave % this.cols))
+                .fill(treasures[this.rand.nextInt(treasures.length)]);
+      }
+      return;
+    }
+
+    List<MutableLocation> caves = getAllCaves();
+
+    while (noOfTreasureCaves > 0) {
+      int caveIndex = this.rand.nextInt(caves.size());
+      int treasureIndex = this.rand.nextInt(treasures.length);
+
+      if (!hasItems(caves.get(caveIndex))) {
+        noOfTreasureCaves -= 1;
+      } else {
+        this.stats.recordRetry();
+      }
+
+      caves.get(caveIndex).fill(treasures[treasureIndex]);
+    }
+  }
+
+  private static boolean hasItems(Location location) {
+    for (Item item : MutableLocation.ITEMS) {
+      if (location.itemCount(item) > 0) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /*
+   * The caves are drawn like picking from a list of caves and removing each pick. The default
+   * population keeps the list in order, as earlier versions of the game did, so each pick takes
+   * O(n). The shuffled population moves the last cave into the picked place in O(1).
+   */
+  private void addMonsters(int noOfMonsters) {
+    RandomBag caves = new RandomBag(this.caves.length,
+            this.options.getPopulationMode() == PopulationMode.SAMPLING);
+    for (int cave : this.caves) {
+      caves.add(cave);
+    }
+
+    caves.remove(this.start.getIndex());
+
+    if (noOfMonsters > caves.size()) {
+      noOfMonsters = caves.size() - 1;
+    }
+
+    caves.remove(this.end.getIndex());
+
+    // the end always has a monster
+    int[] dwellings = new int[Math.max(1, noOfMonsters)];
+    dwellings[0] = this.end.getIndex();
+
+    for (int i = 1; i < noOfMonsters; i++) {
+      dwellings[i] = caves.draw(this.rand);
+    }
+
+    this.placeMonsters(dwellings);
+  }
+
+  /**
+   * Method to put a monster in each of the given caves and spread their smell, for e.g. to set
+   * up a given game scenario. The caves are all checked first, so nothing changes if one of
+   * them is not valid.
+   *
+   * @param cells the indices of the caves
+   * @throws IllegalArgumentException if a cell is out of bounds, is not a cave, is the start,
+   *                                  or is given twice
+   * @throws IllegalStateException    if a cave already has a monster
+   */
+  void placeMonsters(int[] cells) throws IllegalArgumentException, IllegalStateException {
+    for (int cell : cells) {
+      if (cell < 0 || cell >= this.rows * this.cols) {
+        throw new IllegalArgumentException("cell out of bounds for placing monster!");
+      } else if (Arrays.binarySearch(this.caves, cell) < 0) {
+        throw new IllegalArgumentException("Monsters can only be placed in caves!");
+      } else if (cell == this.start.getIndex()) {
+        throw new IllegalArgumentException("Monster cannot be placed at the start!");
+      } else if (this.cellAt(cell / this.cols, cell % this.cols).hasMonster()) {
+        throw new IllegalStateException("Attempting to add monster to an already occupied cave!");
+      }
+    }
+    if (Arrays.stream(cells).distinct().count() != cells.length) {
+      throw new IllegalArgumentException("Cannot place two monsters in one cave!");
+    }
+
+    for (int cell : cells) {
+      MutableLocation cave = (MutableLocation) this.cellAt(cell / this.cols, cell % this.cols);
+      cave.putMonster(new Otyugh(cave));
+      this.spreadSmell(cell, 1, null);
+    }
+  }
+
+  private void addArrows(double percent) {
+    int noOfArrowLocations = (int) Math.ceil((percent / 100.0)
+            * (this.getNoOfCaves() + this.getNoOfTunnels()));
+
+    if (this.options.getPopulationMode() == PopulationMode.SHUFFLED) {
+      PartialShuffle shuffle = new PartialShuffle(this.rows * this.cols, this.rand);
+
+      for (int i = 0; i < noOfArrowLocations; i++) {
+        int cell = shuffle.next();
+        int noOfArrows = this.rand.nextInt(3) + 1;
+
+        MutableLocation currCell = (MutableLocation) this.cellAt(cell / this.cols,
+                cell % this.cols);
+        for (int j = 0; j < noOfArrows; j++) {
+          currCell.fill(Weapon.ARROW);
+        }
+      }
+      return;
+    }
+
+    while (noOfArrowLocations > 0) {
+      int locationX = this.rand.nextInt(this.rows);
+      int locationY = this.rand.nextInt(this.cols);
+
+      MutableLocation currCell = (MutableLocation) this.getLocation(locationX, locationY);
+      if (!currCell.equals(this.end)
+              || currCell.itemCount(Weapon.ARROW) == 0) {
+        int noOfArrows = this.rand.nextInt(3) + 1;
+
+        if (currCell.itemCount(Weapon.ARROW) == 0) {
+          noOfArrowLocations -= 1;
+        } else {
+          this.stats.recordRetry();
+        }
+
+        for (int i = 0; i < noOfArrows; i++) {
+          currCell.fill(Weapon.ARROW);
+        }
+      } else {
+        this.stats.recordRetry();
+      }
+    }
+  }
+
+  private List<MutableLocation> getAllCaves() {
+    List<MutableLocation> caveList = new ArrayList<>(this.caves.length);
+
+    for (int cave : this.caves) {
+      caveList.add((MutableLocation) this.cellAt(cave / this.cols, cave % this.cols));
+    }
+
+    return caveList;
+  }
+
+  @Override
+  public Location getStart() {
+    return this.start;
+  }
+
+  @Override
+  public Location getEnd() {
+    return this.end;
+  }
+
+  @Override
+  public Location getLocation(int x, int y) {
+    if (x < 0 || x >= this.rows) {
+      throw new IllegalArgumentException("x out of bounds for getting location!");
+    }
+    if (y < 0 || y >= this.cols) {
+      throw new IllegalArgumentException("y out of bounds for getting location!");
+    }
+    return this.cellAt(x, y);
+  }
+
+  @Override
+  public Location getLocation(int index) {
+    if (index < 0 || index >= this.rows * this.cols) {
+      throw new IllegalArgumentException("index out of bounds for getting location!");
+    }
+    return this.cellAt(index / this.cols, index % this.cols);
+  }
+
+  @Override
+  public int getNoOfCaves() {
+    return this.caves.length;
+  }
+
+  @Override
+  public Location getCave(int i) {
+    if (i < 0 || i >= this.caves.length) {
+      throw new IllegalArgumentException("i out of bounds for getting cave!");
+    }
+    return this.cellAt(this.caves[i] / this.cols, this.caves[i] % this.cols);
+  }
+
+  @Override
+  public int getNoOfTunnels() {
+    return this.rows * this.cols - this.caves.length;
+  }
+
+  @Override
+  public int getNoOfRows() {
+    return this.rows;
+  }
+
+  @Override
+  public int getNoOfColumns() {
+    return this.cols;
+  }
+
+  @Override
+  public Location[][] getDungeonGrid() {
+    Location[][] gridCopy = new Location[this.rows][this.cols];
+
+    for (int row = 0; row < this.rows; row += 1) {
+      for (int col = 0; col < this.cols; col += 1) {
+        gridCopy[row][col] = this.cellAt(row, col);
+      }
+    }
+    return gridCopy;
+  }
+
+  String[][] getDungeonLayout() {
+    String[][] layout = new String[this.rows * 3][this.cols * 3];
+
+    int layoutRow = 1;
+    int layoutCol = 1;
+    for (int row = 0; row < this.rows; row++) {
+      for (int col = 0; col < this.cols; col++) {
+        Location cell = this.cellAt(row, col);
+        Set<Direction> directions = cell.getPossibleDirections();
+
+        if (cell.isCave()) {
+          if (hasItems(cell)) {
+            layout[layoutRow][layoutCol] = "{X}";
+          } else {
+            layout[layoutRow][layoutCol] = "(C)";
+          }
+
+          if (cell.hasMonster()) {
+            if (cell.getMonster().getHitsTaken() < 2) {
+              layout[layoutRow][layoutCol] = "<M>";
+            }
+          }
+        } else {
+          layout[layoutRow][layoutCol] = " + ";
+        }
+
+        for (Object d : directions) {
+          if (d == Direction.NORTH) {
+            layout[layoutRow - 1][layoutCol] = "| |";//" ↑ ";
+          } else if (d == Direction.EAST) {
+            layout[layoutRow][layoutCol + 1] = "===";//"--→";
+          } else if (d == Direction.SOUTH) {
+            layout[layoutRow + 1][layoutCol] = "| |";//" ↓ ";
+          } else if (d == Direction.WEST) {
+            layout[layoutRow][layoutCol - 1] = "===";//"←--";
+          }
+        }
+        layoutCol += 3;
+      }
+      layoutCol = 1;
+      layoutRow += 3;
+    }
+
+    int startRow = 1 + this.getStart().getCoordinates()[0] * 3;
+    int startCol = 1 + this.getStart().getCoordinates()[1] * 3;
+    int endRow = 1 + this.getEnd().getCoordinates()[0] * 3;
+    int endCol = 1 + this.getEnd().getCoordinates()[1] * 3;
+
+    String start = layout[startRow][startCol];
+    layout[startRow][startCol] = start.charAt(0) + "S" + start.charAt(2);
+    String end = layout[endRow][endCol];
+    layout[endRow][endCol] = end.charAt(0) + "G" + end.charAt(2);
+
+    return layout;
+  }
+}
@@ -1,14 +1,8 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * This class represents the model for Dungeon Adventure Game and implements its functionalities.
@@ -16,8 +10,11 @@ import java.util.Set;
  * at a given location and get the state of the Game at any instant.
  */
 public class AdventureGameModel implements GameModel {
+  private static final Direction[] DIRECTIONS = Direction.values();
+
   private final IDungeon dungeon;
   private final IPlayer player;
+  private final List<GameChangeListener> listeners;
   private boolean gameOver;
 
   /**
@@ -32,11 +29,25 @@ public class AdventureGameModel implements GameModel {
    */
   public AdventureGameModel(Random rand, int rows, int cols, boolean wrap, int interconn,
                             double percent, int difficulty) {
-    this.dungeon = new Dungeon(rows, cols, wrap, interconn, percent, difficulty, rand);
+    this(new Dungeon(rows, cols, wrap, interconn, percent, difficulty, rand));
+  }
+
+  /**
+   * Construct an Adventure Game object in an already built dungeon, for e.g. a
+   * {@link DungeonGrid} for very large dungeons.
+   *
+   * @param dungeon the game dungeon, built by one of the dungeon classes of this package
+   * @throws IllegalArgumentException if the dungeon is null or not built by this package
+   */
+  public AdventureGameModel(IDungeon dungeon) throws IllegalArgumentException {
+    if (!(dungeon instanceof AbstractDungeon)) {
+      throw new IllegalArgumentException("Game dungeon should be built by the game model!");
+    }
+
+    this.dungeon = dungeon;
     this.player = new Player(this.dungeon.getStart());
+    this.listeners = new ArrayList<>();
     this.gameOver = false;
-
-    this.detectSmellAtPlayerLocation();
   }
 
   @Override
@@ -61,22 +72,17 @@ public class AdventureGameModel implements GameModel {
 
   @Override
   public void movePlayer(Direction d) throws IllegalArgumentException {
-    if (!this.player.getCurrentLocation().getPossibleDirections().contains(d)) {
+    if ((this.player.getCurrentLocation().getDirectionMask() & d.getMask()) == 0) {
       throw new IllegalArgumentException("Cannot move in the " + d.toString().charAt(0)
               + " direction from current location!");
     }
 
-    int[] xy = this.player.getCurrentLocation().getNeighbour(d);
-
-    int x = xy[0];
-    int y = xy[1];
-
-    Location newLocation = this.dungeon.getLocation(x, y);
+    Location oldLocation = this.player.getCurrentLocation();
+    Location newLocation = this.dungeon.getLocation(oldLocation.getNeighbourIndex(d));
 
     ((Player) this.player).updateLocation(newLocation);
 
     Location currPlayerLocation = this.player.getCurrentLocation();
-    this.detectSmellAtPlayerLocation();
 
     if (currPlayerLocation.hasMonster()) {
       Monster monster = currPlayerLocation.getMonster();
@@ -89,22 +95,39 @@ public class AdventureGameModel implements GameModel {
         this.gameOver = true;
       }
     }
+
+    this.fireGameChanged(List.of(oldLocation, currPlayerLocation));
   }
 
   @Override
   public void pickItem(Item i) throws IllegalArgumentException {
-    if (!this.player.getCurrentLocation().getContent().contains(i)) {
+    this.pickItem(i, 1);
+  }
+
+  @Override
+  public void pickItem(Item i, int count) throws IllegalArgumentException {
+    if (count <= 0) {
+      throw new IllegalArgumentException("No. of items to collect should be positive!");
+    }
+
+    int available = this.player.getCurrentLocation().itemCount(i);
+    if (available == 0) {
       throw new IllegalArgumentException("Cannot collect " + i.getName()
               + ", item not located in the current location!");
+    } else if (available < count) {
+      throw new IllegalArgumentException("Cannot collect " + count + " " + i.getName()
+              + ", only " + available + " located in the current location!");
     }
 
-    i.pick((Player) this.player);
+    i.pick((Player) this.player, count);
+
+    this.fireGameChanged(List.of(this.player.getCurrentLocation()));
   }
 
   @Override
   public boolean shootArrow(Direction d, int distance)
           throws IllegalArgumentException, IllegalStateException {
-    if (!this.player.getCurrentLocation().getPossibleDirections().contains(d)) {
+    if ((this.player.getCurrentLocation().getDirectionMask() & d.getMask()) == 0) {
       throw new IllegalArgumentException("Cannot shoot arrow in the " + d.toString().charAt(0)
               + " direction from the current location!");
     }
@@ -120,100 +143,78 @@ public class AdventureGameModel implements GameModel {
     }
 
     ((Player) this.player).shootArrow();
-    boolean successfulHit = this.arrowTraversal(this.player.getCurrentLocation(), d, distance);
-    this.detectSmellAtPlayerLocation();
+    Location target = this.arrowTraversal(this.player.getCurrentLocation(), d, distance);
 
-    return successfulHit;
-  }
+    if (target == null) {
+      this.fireGameChanged(List.of());
+      return false;
+    }
 
-  private boolean arrowTraversal(Location currLoc, Direction d, int distance) {
-    Map<Direction, Direction> entryExit = new HashMap<>();
-    entryExit.put(Direction.EAST, Direction.WEST);
-    entryExit.put(Direction.WEST, Direction.EAST);
-    entryExit.put(Direction.NORTH, Direction.SOUTH);
-    entryExit.put(Direction.SOUTH, Direction.NORTH);
+    Otyugh otyugh = (Otyugh) target.getMonster();
+    boolean wasAlive = otyugh.isAlive();
+
+    otyugh.takeHit();
+    if (wasAlive && !otyugh.isAlive()) {
+      List<Location> changed = new ArrayList<>();
+      changed.add(target);
+      // the smell around the monster, maybe at the player location too, went along with it
+      for (Location location : ((AbstractDungeon) this.dungeon).removeMonsterSmell(target)) {
+        if (!location.equals(target)) {
+          changed.add(location);
+        }
+      }
+      this.fireGameChanged(changed);
+    } else {
+      // a wounded monster looks and smells the same
+      this.fireGameChanged(List.of());
+    }
+
+    return true;
+  }
 
+  // finds the cave with a monster where the arrow stops, null if the arrow hits nothing
+  private Location arrowTraversal(Location currLoc, Direction d, int distance) {
     while (distance != 0) {
-      int[] xy = currLoc.getNeighbour(d);
-      Location nextLoc = this.dungeon.getLocation(xy[0], xy[1]);
-      List<Direction> possibleDirections = new ArrayList<>(nextLoc.getPossibleDirections());
-      possibleDirections.remove(entryExit.get(d));
+      Location nextLoc = this.dungeon.getLocation(currLoc.getNeighbourIndex(d));
+      int exits = nextLoc.getDirectionMask() & ~d.getOpposite().getMask();
 
       if (nextLoc.isCave()) {
         distance -= 1;
 
         if (distance == 0 && nextLoc.hasMonster()) {
-          ((Otyugh) nextLoc.getMonster()).takeHit();
-          return true;
-        } else if (distance > 0 && possibleDirections.contains(d)) {
+          return nextLoc;
+        } else if (distance > 0 && (exits & d.getMask()) != 0) {
           currLoc = nextLoc;
-        } else if (distance > 0 && !possibleDirections.contains(d)) {
-          return false;
+        } else if (distance > 0 && (exits & d.getMask()) == 0) {
+          return null;
         }
       } else {
-        d = possibleDirections.get(0);
+        d = DIRECTIONS[Integer.numberOfTrailingZeros(exits)];
         currLoc = nextLoc;
       }
     }
 
-    return false;
+    return null;
   }
 
-  private void detectSmellAtPlayerLocation() {
-    Location cell = this.player.getCurrentLocation();
-    int[] xy = cell.getCoordinates();
-    int monsterDepthOne = this.bfsHelper(xy[0], xy[1], 1);
-    int monsterDepthTwo = this.bfsHelper(xy[0], xy[1], 2);
-
-    if (monsterDepthOne > 0 || monsterDepthTwo > 1) {
-      ((Cell) cell).updateSmell(Smell.MORE_PUNGENT);
-    } else if (monsterDepthTwo == 1) {
-      ((Cell) cell).updateSmell(Smell.LESS_PUNGENT);
-    } else {
-      ((Cell) cell).updateSmell(Smell.NONE);
+  @Override
+  public void addChangeListener(GameChangeListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Game change listener cannot be null!");
     }
-  }
-
-  private int bfsHelper(int row, int col, int maxHeight) {
-    Set<Location> visited = new HashSet<>();
-    Queue<Location> q = new LinkedList<>();
-    Queue<Integer> qHeight = new LinkedList<>();
-
-    q.add(this.dungeon.getLocation(row, col));
-    qHeight.add(0);
-
-    int monsterCount = 0;
-
-    while (!q.isEmpty()) {
-      Location cell = q.remove();
-      int height = qHeight.remove();
 
-      if (height > maxHeight) {
-        return monsterCount;
-      }
-
-      if (cell.hasMonster()) {
-        if (cell.getMonster().getHitsTaken() < 2) {
-          monsterCount += 1;
-        }
-      }
-
-      visited.add(cell);
+    this.listeners.add(listener);
+  }
 
-      for (Direction d : cell.getPossibleDirections()) {
-        int[] coordinates = cell.getNeighbour(d);
-        int x = coordinates[0];
-        int y = coordinates[1];
-        Location child = this.dungeon.getLocation(x, y);
+  @Override
+  public void removeChangeListener(GameChangeListener listener) {
+    this.listeners.remove(listener);
+  }
 
-        if (!visited.contains(child)) {
-          q.add(child);
-          qHeight.add(height + 1);
-        }
-      }
+  private void fireGameChanged(List<Location> changed) {
+    for (GameChangeListener listener : new ArrayList<>(this.listeners)) {
+      listener.gameChanged(changed);
     }
-
-    return 0;
   }
 
   @Override
@@ -223,7 +224,7 @@ public class AdventureGameModel implements GameModel {
 
   @Override
   public String getGameState() {
-    String[][] dungeonLayout = ((Dungeon) this.dungeon).getDungeonLayout();
+    String[][] dungeonLayout = ((AbstractDungeon) this.dungeon).getDungeonLayout();
     int[] playerLocation = this.player.getCurrentLocation().getCoordinates();
 
     int rowInLayout = 1 + playerLocation[0] * 3;
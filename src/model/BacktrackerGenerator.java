@@ -0,0 +1,63 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents a recursive backtracker. From a random cell, it keeps stepping to a
+ * random neighbour not visited yet, joining the path to it. When a cell has no unvisited
+ * neighbours left, it steps back to the previous cell of the walk.
+ *
+ * <p>The walk is kept on an explicit stack of cells rather than on the call stack, so large
+ * dungeons cannot overflow the call stack.
+ */
+class BacktrackerGenerator implements MazeGenerator {
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  @Override
+  public RandomBag carve(DungeonBuilder builder, PhaseProgress progress, Random rand) {
+    int size = builder.getRows() * builder.getCols();
+
+    boolean[] visited = new boolean[size];
+    // every cell is pushed once, when it is visited
+    int[] stack = new int[size];
+    int top = 0;
+    Direction[] unvisited = new Direction[DIRECTIONS.length];
+
+    int start = rand.nextInt(size);
+    visited[start] = true;
+    stack[top] = start;
+    top += 1;
+    int noOfJoined = 1;
+
+    while (top > 0) {
+      int cell = stack[top - 1];
+
+      int noOfUnvisited = 0;
+      for (Direction d : DIRECTIONS) {
+        int neighbour = builder.getNeighbour(cell, d);
+        if (neighbour >= 0 && !visited[neighbour]) {
+          unvisited[noOfUnvisited] = d;
+          noOfUnvisited += 1;
+        }
+      }
+
+      if (noOfUnvisited == 0) {
+        top -= 1;
+        continue;
+      }
+
+      Direction d = unvisited[rand.nextInt(noOfUnvisited)];
+      int neighbour = builder.getNeighbour(cell, d);
+
+      builder.join(builder.getPath(cell, d));
+      visited[neighbour] = true;
+      stack[top] = neighbour;
+      top += 1;
+
+      noOfJoined += 1;
+      progress.update(noOfJoined);
+    }
+
+    return builder.getUnjoinedPaths();
+  }
+}
@@ -0,0 +1,126 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a reusable breadth-first search over the locations of a dungeon.
+ * All of its buffers are allocated once, so repeated searches allocate nothing.
+ *
+ * <p>A cell is marked visited when it is enqueued, so every cell enters the queue at most once
+ * and the queue never holds more cells than the grid. Instead of clearing the visited marks
+ * before every search, each search uses a new generation number and a cell counts as visited
+ * only if its stamp equals the current generation.
+ *
+ * <p>The results of a search are valid until the next search. An instance is not thread-safe,
+ * concurrent searches need an instance each.
+ */
+class BreadthFirstSearch {
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final AbstractDungeon dungeon;
+  private final int[] queue;
+  private final int[] stamps;
+  private final int[] distances;
+  private int generation;
+  private int noOfVisited;
+
+  /**
+   * Construct a breadth-first search over the given dungeon.
+   *
+   * @param dungeon the dungeon to be searched
+   */
+  BreadthFirstSearch(AbstractDungeon dungeon) {
+    int size = dungeon.rows * dungeon.cols;
+
+    this.dungeon = dungeon;
+    this.queue = new int[size];
+    this.stamps = new int[size];
+    this.distances = new int[size];
+    this.generation = 0;
+    this.noOfVisited = 0;
+  }
+
+  /**
+   * Method to visit every cell reachable from the start cell within the given distance.
+   *
+   * @param start       the index of the start cell
+   * @param maxDistance the maximum distance of the visited cells from the start cell
+   */
+  void search(int start, int maxDistance) {
+    this.nextGeneration();
+
+    int head = 0;
+    int tail = 0;
+
+    this.stamps[start] = this.generation;
+    this.distances[start] = 0;
+    this.queue[tail] = start;
+    tail += 1;
+
+    while (head < tail) {
+      int cell = this.queue[head];
+      head += 1;
+
+      int distance = this.distances[cell];
+      if (distance == maxDistance) {
+        continue;
+      }
+
+      for (Direction d : DIRECTIONS) {
+        int neighbour = this.dungeon.getNeighbourIndex(cell, d);
+
+        if (neighbour >= 0 && this.stamps[neighbour] != this.generation) {
+          this.stamps[neighbour] = this.generation;
+          this.distances[neighbour] = distance + 1;
+          this.queue[tail] = neighbour;
+          tail += 1;
+        }
+      }
+    }
+
+    this.noOfVisited = tail;
+  }
+
+  /**
+   * Method to get the distance of a cell from the start cell of the last search.
+   *
+   * @param cell the index of the cell
+   * @return the distance, or -1 if the cell was not visited
+   */
+  int getDistance(int cell) {
+    if (this.stamps[cell] != this.generation) {
+      return -1;
+    }
+
+    return this.distances[cell];
+  }
+
+  /**
+   * Method to get the no. of cells visited by the last search.
+   *
+   * @return the no. of visited cells
+   */
+  int getNoOfVisited() {
+    return this.noOfVisited;
+  }
+
+  /**
+   * Method to get a cell visited by the last search, in the order of visit.
+   *
+   * @param i the position of the cell in the order of visit, from 0 to 'getNoOfVisited() - 1'
+   * @return the index of the visited cell
+   */
+  int getVisited(int i) {
+    return this.queue[i];
+  }
+
+  private void nextGeneration() {
+    this.generation += 1;
+
+    if (this.generation == 0) {
+      // the stamps wrapped around, so old stamps could look current
+      Arrays.fill(this.stamps, 0);
+      this.generation = 1;
+    }
+  }
+}
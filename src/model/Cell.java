@@ -1,23 +1,20 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 
-import utils.Tuple;
-
 /**
- * This class represents a Location in the dungeon.
+ * This class represents a Location in the dungeon. Two cells are equal if they are at the
+ * same position of grids having the same no. of columns.
  */
-public class Cell implements Location {
-  private final Tuple<Integer, Integer> coordinate;
-  private final Map<Direction, String> possibleDirections;
-  private final List<Item> content;
+public class Cell extends MutableLocation {
+  private final int index;
+  private final int directionMask;
+  private final int[] neighbours;
+  private final int cols;
+  private final int[] itemCounts;
   private final List<Monster> occupant;
   private Smell smell;
   private boolean visited;
@@ -25,37 +22,61 @@ public class Cell implements Location {
   /**
    * Construct a cell location given the arguments.
    *
-   * @param x                  the x co-ordinate on the 2D grid
-   * @param y                  the y co-ordinate on the 2D grid
-   * @param possibleDirections the directions that lead away from the current cell location
+   * @param x          the x co-ordinate on the 2D grid
+   * @param y          the y co-ordinate on the 2D grid
+   * @param cols       the no. of columns in the 2D grid
+   * @param neighbours the grid indices of the neighbours, indexed by direction ordinal,
+   *                   -1 for each direction that does not lead away from the cell location
    */
-  public Cell(int x, int y, HashMap<Direction, String> possibleDirections)
-          throws IllegalArgumentException {
+  public Cell(int x, int y, int cols, int[] neighbours) throws IllegalArgumentException {
     if (x < 0 || y < 0) {
       throw new IllegalArgumentException("Cell indices cannot be negative!");
     }
-    if (!(possibleDirections.containsKey(Direction.NORTH)
-            || possibleDirections.containsKey(Direction.SOUTH)
-            || possibleDirections.containsKey(Direction.EAST)
-            || possibleDirections.containsKey(Direction.WEST))) {
+    if (y >= cols) {
+      throw new IllegalArgumentException("Cell column should be inside the grid!");
+    }
+    if (neighbours == null || neighbours.length != Direction.values().length) {
+      throw new IllegalArgumentException("Neighbours should be given for all directions!");
+    }
+
+    int mask = 0;
+    for (Direction d : Direction.values()) {
+      if (neighbours[d.ordinal()] >= 0) {
+        mask |= d.getMask();
+      }
+    }
+    if (mask == 0) {
       throw new IllegalArgumentException("Possible cell directions should be valid!");
     }
-    this.coordinate = new Tuple<>(x, y);
-    this.possibleDirections = possibleDirections;
-    this.content = new ArrayList<>();
+
+    this.index = x * cols + y;
+    this.directionMask = mask;
+    this.neighbours = neighbours.clone();
+    this.cols = cols;
+    this.itemCounts = new int[ITEMS.length];
     this.occupant = new ArrayList<>();
     this.smell = Smell.NONE;
     this.visited = false;
   }
 
+  @Override
   void fill(Item item) {
-    this.content.add(item);
+    int slot = getItemSlot(item);
+    if (slot < 0) {
+      throw new IllegalArgumentException("Unknown item " + item);
+    }
+    this.itemCounts[slot] += 1;
   }
 
-  void pop(Item item) {
-    this.content.remove(item);
+  @Override
+  void pop(Item item, int count) {
+    int slot = getItemSlot(item);
+    if (slot >= 0) {
+      this.itemCounts[slot] -= Math.min(count, this.itemCounts[slot]);
+    }
   }
 
+  @Override
   void putMonster(Monster oytugh) throws IllegalStateException {
     if (this.occupant.size() > 0) {
       throw new IllegalStateException("Attempting to add monster to an already occupied cave!");
@@ -63,42 +84,82 @@ public class Cell implements Location {
     this.occupant.add(oytugh);
   }
 
+  @Override
   void updateSmell(Smell smell) {
     this.smell = smell;
   }
 
+  @Override
   void markVisited() {
     this.visited = true;
   }
 
   @Override
   public int[] getCoordinates() {
-    return new int[]{this.coordinate.getX(), this.coordinate.getY()};
+    return new int[]{this.index / this.cols, this.index % this.cols};
+  }
+
+  @Override
+  public int getIndex() {
+    return this.index;
   }
 
   @Override
   public Set<Direction> getPossibleDirections() {
+    Set<Direction> directions = EnumSet.noneOf(Direction.class);
+
+    for (Direction d : Direction.values()) {
+      if ((this.directionMask & d.getMask()) != 0) {
+        directions.add(d);
+      }
+    }
 
-    return new HashSet<>(this.possibleDirections.keySet());
+    return directions;
+  }
+
+  @Override
+  public int getDirectionMask() {
+    return this.directionMask;
   }
 
   @Override
   public int[] getNeighbour(Direction d) {
+    int neighbour = this.getNeighbourIndex(d);
+
+    if (neighbour < 0) {
+      throw new IllegalArgumentException("No neighbour in the " + d + " direction!");
+    }
+
+    return new int[]{neighbour / this.cols, neighbour % this.cols};
+  }
+
+  @Override
+  public int getNeighbourIndex(Direction d) {
     if (d == null) {
       throw new IllegalArgumentException("Given neighbour direction is null!");
     }
 
-    int[] neighbourCoordinate = new int[2];
-    String[] xy = this.possibleDirections.get(d).split(" ");
-    neighbourCoordinate[0] = Integer.parseInt(xy[0]);
-    neighbourCoordinate[1] = Integer.parseInt(xy[1]);
-
-    return neighbourCoordinate;
+    return this.neighbours[d.ordinal()];
   }
 
   @Override
   public List<Item> getContent() {
-    return new ArrayList<>(this.content);
+    List<Item> content = new ArrayList<>();
+
+    for (int slot = 0; slot < ITEMS.length; slot++) {
+      for (int i = 0; i < this.itemCounts[slot]; i++) {
+        content.add(ITEMS[slot]);
+      }
+    }
+
+    return content;
+  }
+
+  @Override
+  public int itemCount(Item item) {
+    int slot = getItemSlot(item);
+
+    return slot < 0 ? 0 : this.itemCounts[slot];
   }
 
   @Override
@@ -122,7 +183,7 @@ public class Cell implements Location {
 
   @Override
   public boolean isCave() {
-    return this.possibleDirections.keySet().size() != 2;
+    return Integer.bitCount(this.directionMask) != 2;
   }
 
   @Override
@@ -142,15 +203,11 @@ public class Cell implements Location {
 
     Cell that = (Cell) o;
 
-    return Arrays.equals(this.getCoordinates(), that.getCoordinates())
-            && this.isCave() == that.isCave()
-            && this.getContent().equals(that.getContent())
-            && this.getPossibleDirections().equals(that.getPossibleDirections());
+    return this.index == that.index && this.cols == that.cols;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.isCave(), Arrays.hashCode(this.getCoordinates()),
-            this.possibleDirections);
+    return Integer.hashCode(this.index);
   }
 }
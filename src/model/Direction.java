@@ -9,4 +9,31 @@ public enum Direction {
   SOUTH,
   EAST,
   WEST;
+
+  /**
+   * Method to get the bit that stands for this direction in the direction mask of a location.
+   *
+   * @return the direction bit, a distinct power of two for each direction
+   */
+  public int getMask() {
+    return 1 << this.ordinal();
+  }
+
+  /**
+   * Method to get the direction pointing the opposite way.
+   *
+   * @return the opposite direction
+   */
+  public Direction getOpposite() {
+    switch (this) {
+      case NORTH:
+        return SOUTH;
+      case SOUTH:
+        return NORTH;
+      case EAST:
+        return WEST;
+      default:
+        return EAST;
+    }
+  }
 }
@@ -0,0 +1,80 @@
+package model;
+
+/**
+ * This class represents a disjoint-set forest over the integer ids 0 to n - 1.
+ * It is used by the dungeon builder to track which cells are already connected while
+ * running Kruskal's algorithm. Finds use path compression and unions are by rank,
+ * so every operation runs in near constant amortized time.
+ */
+class DisjointSet {
+  private final int[] parent;
+  private final byte[] rank;
+
+  /**
+   * Construct a disjoint-set forest where every id is in a set of its own.
+   *
+   * @param size the no. of ids in the forest
+   * @throws IllegalArgumentException if size is negative
+   */
+  DisjointSet(int size) throws IllegalArgumentException {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size of disjoint set cannot be negative!");
+    }
+
+    this.parent = new int[size];
+    this.rank = new byte[size];
+
+    for (int i = 0; i < size; i++) {
+      this.parent[i] = i;
+    }
+  }
+
+  /**
+   * Method to find the representative id of the set containing the given id.
+   *
+   * @param id the queried id
+   * @return the representative id of its set
+   */
+  int find(int id) {
+    int root = id;
+    while (this.parent[root] != root) {
+      root = this.parent[root];
+    }
+
+    // path compression
+    while (this.parent[id] != root) {
+      int next = this.parent[id];
+      this.parent[id] = root;
+      id = next;
+    }
+
+    return root;
+  }
+
+  /**
+   * Method to merge the sets containing the two given ids.
+   *
+   * @param a the first id
+   * @param b the second id
+   * @return true if the ids were in different sets and got merged, false otherwise
+   */
+  boolean union(int a, int b) {
+    int rootA = this.find(a);
+    int rootB = this.find(b);
+
+    if (rootA == rootB) {
+      return false;
+    }
+
+    if (this.rank[rootA] < this.rank[rootB]) {
+      this.parent[rootA] = rootB;
+    } else if (this.rank[rootA] > this.rank[rootB]) {
+      this.parent[rootB] = rootA;
+    } else {
+      this.parent[rootB] = rootA;
+      this.rank[rootA] += 1;
+    }
+
+    return true;
+  }
+}
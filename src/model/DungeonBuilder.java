@@ -1,262 +1,410 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Objects;
 import java.util.Random;
-import java.util.Set;
-
-import utils.Tuple;
 
 /**
  * This class represents a Dungeon Builder that takes in dungeon property arguments
  * and builds a corresponding dungeon as a 2D grid.
+ *
+ * <p>A cell (x, y) is identified by its index x * cols + y. A path between two adjacent cells
+ * is encoded as a single int, cellIndex * 2 + axis, where axis 0 joins the cell to its
+ * southern neighbour and axis 1 joins it to its eastern neighbour (wrapping around the grid
+ * edges if the dungeon is wrapping). Every undirected path therefore has exactly one encoding.
+ *
+ * <p>The paths of a perfect maze, joining every cell with exactly one route between any two
+ * cells, are picked by a {@link MazeGenerator}. The builder then adds as many of the paths left
+ * out as the interconnectivity asks for. Generators use the package-private methods of the
+ * builder to look at the grid and join paths.
  */
 class DungeonBuilder {
-  private final boolean wrapping;
+  private static final int AXIS_SOUTH = 0;
+  private static final int AXIS_EAST = 1;
+
   private final int rows;
   private final int cols;
+  // a wrapping path in a dimension of size 1 or 2 would be a self loop or a duplicate
+  private final boolean wrapRows;
+  private final boolean wrapCols;
   private final int interconn;
+  private final boolean orderedPaths;
+  private final MazeGenerator generator;
+  private final GenerationListener listener;
+  private final GenerationStats stats;
 
   private final Random rand;
 
-  protected DungeonBuilder(int rows, int cols, boolean wrapping, int interconn, Random rand) {
+  private int[] potentialPaths;
+  private byte[] directions;
+
+  protected DungeonBuilder(int rows, int cols, boolean wrapping, int interconn,
+                           GenerationOptions options, Random rand) {
     this.rows = rows;
     this.cols = cols;
-    this.wrapping = wrapping;
+    this.wrapRows = wrapping && rows > 2;
+    this.wrapCols = wrapping && cols > 2;
     this.interconn = interconn;
+    this.orderedPaths = options.getPathSelection() == PathSelection.ORDERED;
+    this.generator = getGenerator(options.getMazeAlgorithm());
+    this.listener = options.getListener();
+    this.stats = options.getStats() == null ? GenerationStats.disabled() : options.getStats();
 
     this.rand = rand;
   }
 
   Location[][] buildDungeon() {
-    Set<String> potentialPaths = this.getAllPotentialPaths(this.wrapping);
+    byte[] directions = this.buildDirections();
 
-    List<Set<String>> setList = new ArrayList<>();
+    this.stats.begin(GenerationStep.LOCATIONS);
+    Location[][] locations = this.createCellsInDungeon(directions);
+    this.stats.end();
 
-    HashMap<Direction, String>[][] directions = this.createPaths(setList, potentialPaths);
-
-    return this.createCellsInDungeon(directions);
+    return locations;
   }
 
-  private Location[][] createCellsInDungeon(HashMap<Direction, String>[][] directions) {
-    Location[][] locations = new Location[this.rows][this.cols];
+  /**
+   * Method to build the paths of the dungeon without creating any location objects.
+   *
+   * @return the direction mask of every cell, indexed by cell index
+   * @throws IllegalArgumentException if the dungeon is too small for the interconnectivity
+   */
+  byte[] buildDirections() throws IllegalArgumentException {
+    this.stats.begin(GenerationStep.PATHS);
+    this.potentialPaths = this.getAllPotentialPaths();
+    this.directions = new byte[this.rows * this.cols];
+
+    PhaseProgress progress = new PhaseProgress(this.listener, GenerationPhase.PATHS,
+            this.rows * this.cols);
+    RandomBag leftoverPaths = this.generator.carve(this, progress, this.rand);
 
-    for (int row = 0; row < this.rows; row++) {
-      for (int col = 0; col < this.cols; col++) {
-        locations[row][col] = new Cell(row, col, directions[row][col]);
-      }
+    // add interconnectivity
+    if (this.interconn > leftoverPaths.size()) {
+      throw new IllegalArgumentException("Dungeon size too small for interconnectivity = "
+              + this.interconn);
     }
 
-    return locations;
-  }
-
-  private HashMap<Direction, String>[][] createPaths(List<Set<String>> setList,
-                                                     Set<String> potentialPaths)
-          throws IllegalArgumentException {
+    int interconnectivity = this.interconn;
+    while (interconnectivity > 0) {
+      this.join(leftoverPaths.draw(this.rand));
+      interconnectivity -= 1;
+    }
 
-    HashMap<Direction, String>[][] directions = new HashMap[this.rows][this.cols];
+    progress.finish();
+    this.stats.end();
 
-    // put all nodes in separate sets
-    for (int row = 0; row < this.rows; row++) {
-      for (int col = 0; col < this.cols; col++) {
-        String xy = row + " " + col;
+    return this.directions;
+  }
 
-        Set<String> nodeSet = new HashSet<>();
-        nodeSet.add(xy);
+  /**
+   * Method to build the paths of a perfect maze one row at a time with Eller's algorithm,
+   * keeping only the state of one row. The interconnectivity and the maze algorithm of the
+   * options are left to the caller, and paths between the last and first rows are never joined.
+   *
+   * @return the rows of the maze, built as they are asked for
+   */
+  EllerRows streamRows() {
+    return new EllerRows(this.rows, this.cols, this.wrapCols, this.rand);
+  }
 
-        setList.add(nodeSet);
-      }
+  private static MazeGenerator getGenerator(MazeAlgorithm algorithm) {
+    if (algorithm == MazeAlgorithm.WILSON) {
+      return new WilsonGenerator();
+    } else if (algorithm == MazeAlgorithm.BACKTRACKER) {
+      return new BacktrackerGenerator();
+    } else if (algorithm == MazeAlgorithm.ELLER) {
+      return new EllerGenerator();
+    } else {
+      return new KruskalGenerator();
     }
+  }
 
-    // choose a random path from list of potential paths
-    int noOfPaths;
-    List<String> paths = new ArrayList<>(potentialPaths);
-    List<String> leftoverPaths = new ArrayList<>();
-
-    while (paths.size() > 1) {
-      noOfPaths = paths.size();
-      String chosenPath = paths.get(this.rand.nextInt(noOfPaths));
-
-      // construct the path by joining both nodes and putting them in same set
-      String[] nodes = chosenPath.split("-");
-      int x1 = Integer.parseInt(nodes[0].split(" ")[0]);
-      int y1 = Integer.parseInt(nodes[0].split(" ")[1]);
-      int x2 = Integer.parseInt(nodes[1].split(" ")[0]);
-      int y2 = Integer.parseInt(nodes[1].split(" ")[1]);
-
-      int j = -1;
-      int k = -1;
-      for (int i = 0; i < setList.size(); i++) {
-        if (setList.get(i).contains(nodes[0]) && setList.get(i).contains(nodes[1])) {
-          leftoverPaths.add(chosenPath);
-        } else {
-          if (setList.get(i).contains(nodes[0])) {
-            j = i;
-          }
-          if (setList.get(i).contains(nodes[1])) {
-            k = i;
-          }
-        }
-      }
+  /**
+   * Method to get the no. of rows in the grid being built.
+   *
+   * @return the no. of rows
+   */
+  int getRows() {
+    return this.rows;
+  }
 
-      if (j != -1 && k != -1) {
-        setList.set(j, mergeSet(setList.get(j), setList.get(k)));
-        setList.remove(k);
+  /**
+   * Method to get the no. of columns in the grid being built.
+   *
+   * @return the no. of columns
+   */
+  int getCols() {
+    return this.cols;
+  }
 
-        if (Objects.isNull(directions[x1][y1])) {
-          directions[x1][y1] = new HashMap<>();
-        }
-        directions[x1][y1].put(getDirection(x1, y1, x2, y2), nodes[1]);
+  /**
+   * Method to get every path that could join two cells, in the order earlier versions of the
+   * builder listed them if the maze generator uses that order, else in row-major order.
+   *
+   * @return the encoded paths, which should not be changed
+   */
+  int[] getPotentialPaths() {
+    return this.potentialPaths;
+  }
 
-        if (Objects.isNull(directions[x2][y2])) {
-          directions[x2][y2] = new HashMap<>();
-        }
-        directions[x2][y2].put(getDirection(x2, y2, x1, y1), nodes[0]);
+  /**
+   * Method to check if the bags of paths should keep their order, see {@link PathSelection}.
+   *
+   * @return true if the bags should be ordered, false otherwise
+   */
+  boolean hasOrderedPaths() {
+    return this.orderedPaths;
+  }
+
+  /**
+   * Method to get the path leaving a cell in the given direction.
+   *
+   * @param cell the index of the cell
+   * @param d    the direction of the path
+   * @return the encoded path, or -1 if the cell is at an edge of a grid that does not wrap
+   */
+  int getPath(int cell, Direction d) {
+    int row = cell / this.cols;
+    int col = cell % this.cols;
+
+    if (d == Direction.SOUTH) {
+      return row + 1 < this.rows || this.wrapRows ? cell * 2 + AXIS_SOUTH : -1;
+    } else if (d == Direction.EAST) {
+      return col + 1 < this.cols || this.wrapCols ? cell * 2 + AXIS_EAST : -1;
+    } else if (d == Direction.NORTH) {
+      if (row > 0 || this.wrapRows) {
+        return getNeighbour(cell, Direction.NORTH, this.rows, this.cols) * 2 + AXIS_SOUTH;
+      }
+      return -1;
+    } else {
+      if (col > 0 || this.wrapCols) {
+        return getNeighbour(cell, Direction.WEST, this.rows, this.cols) * 2 + AXIS_EAST;
       }
+      return -1;
+    }
+  }
 
-      paths.remove(chosenPath);
+  /**
+   * Method to get the cell adjacent to a cell, if a path could join them.
+   *
+   * @param cell the index of the cell
+   * @param d    the direction of the adjacent cell
+   * @return the index of the adjacent cell, or -1 if there is no path in that direction
+   */
+  int getNeighbour(int cell, Direction d) {
+    if (this.getPath(cell, d) < 0) {
+      return -1;
     }
 
-    // add interconnectivity
-    if (this.interconn > leftoverPaths.size()) {
-      throw new IllegalArgumentException("Dungeon size too small for interconnectivity = "
-              + this.interconn);
+    return getNeighbour(cell, d, this.rows, this.cols);
+  }
+
+  /**
+   * Method to join the two cells of a path.
+   *
+   * @param path the encoded path
+   */
+  void join(int path) {
+    int cell = path >> 1;
+    int neighbour = this.getOtherEnd(path);
+
+    if ((path & 1) == AXIS_SOUTH) {
+      this.directions[cell] |= Direction.SOUTH.getMask();
+      this.directions[neighbour] |= Direction.NORTH.getMask();
+    } else {
+      this.directions[cell] |= Direction.EAST.getMask();
+      this.directions[neighbour] |= Direction.WEST.getMask();
     }
+  }
 
-    int interconnectivity = this.interconn;
-    while (interconnectivity > 0) {
-      String chosenPath;
-      noOfPaths = leftoverPaths.size();
-      chosenPath = leftoverPaths.get(this.rand.nextInt(noOfPaths));
-
-      // construct the path by joining both nodes and putting them in same set
-      String[] nodes = chosenPath.split("-");
-      int x1 = Integer.parseInt(nodes[0].split(" ")[0]);
-      int y1 = Integer.parseInt(nodes[0].split(" ")[1]);
-      int x2 = Integer.parseInt(nodes[1].split(" ")[0]);
-      int y2 = Integer.parseInt(nodes[1].split(" ")[1]);
-
-      if (Objects.isNull(directions[x1][y1])) {
-        directions[x1][y1] = new HashMap<>();
-      }
-      directions[x1][y1].put(getDirection(x1, y1, x2, y2), nodes[1]);
+  /**
+   * Method to get a bag of the potential paths that were not joined, in the order of
+   * 'getPotentialPaths()'.
+   *
+   * @return the bag of paths
+   */
+  RandomBag getUnjoinedPaths() {
+    RandomBag unjoined = new RandomBag(this.potentialPaths.length, this.orderedPaths);
 
-      if (Objects.isNull(directions[x2][y2])) {
-        directions[x2][y2] = new HashMap<>();
-      }
-      directions[x2][y2].put(getDirection(x2, y2, x1, y1), nodes[0]);
+    for (int path : this.potentialPaths) {
+      int mask = (path & 1) == AXIS_SOUTH ? Direction.SOUTH.getMask() : Direction.EAST.getMask();
 
-      leftoverPaths.remove(chosenPath);
-      interconnectivity -= 1;
+      if ((this.directions[path >> 1] & mask) == 0) {
+        unjoined.add(path);
+      }
     }
 
-    return directions;
+    return unjoined;
   }
 
-  private Set<String> getAllPotentialPaths(boolean wrapping) {
-    Set<String> paths = new HashSet<>();
+  /**
+   * Method to record a path drawn but not joined, see {@link GenerationStats}.
+   */
+  void recordRetry() {
+    this.stats.recordRetry();
+  }
+
+  private Location[][] createCellsInDungeon(byte[] directions) {
+    Location[][] locations = new Location[this.rows][this.cols];
+
     for (int row = 0; row < this.rows; row++) {
       for (int col = 0; col < this.cols; col++) {
-        Tuple<Integer, Integer> currentNode = new Tuple<>(row, col);
-        List<String> currentPaths = getPathsForNode(currentNode, wrapping);
-        paths = addToSet(currentPaths, paths);
+        int cell = row * this.cols + col;
+
+        int[] neighbours = new int[Direction.values().length];
+        for (Direction d : Direction.values()) {
+          if ((directions[cell] & d.getMask()) != 0) {
+            neighbours[d.ordinal()] = getNeighbour(cell, d, this.rows, this.cols);
+          } else {
+            neighbours[d.ordinal()] = -1;
+          }
+        }
+
+        locations[row][col] = new Cell(row, col, this.cols, neighbours);
       }
     }
 
-    return paths;
+    return locations;
   }
 
-  private List<String> getPathsForNode(Tuple<Integer, Integer> currentNode, boolean wrapping) {
-    int x = currentNode.getX();
-    int y = currentNode.getY();
-
-    List<String> currPaths = new ArrayList<>();
+  private int[] getAllPotentialPaths() {
+    int noOfPaths = (this.rows - 1) * this.cols + this.rows * (this.cols - 1);
+    if (this.wrapRows) {
+      noOfPaths += this.cols;
+    }
+    if (this.wrapCols) {
+      noOfPaths += this.rows;
+    }
 
-    int xPlus = x + 1;
-    int xMinus = x - 1;
-    int yPlus = y + 1;
-    int yMinus = y - 1;
+    // paths are listed in the order in which each node first discovers them
+    int[] paths = new int[noOfPaths];
+    int i = 0;
+    for (int row = 0; row < this.rows; row++) {
+      for (int col = 0; col < this.cols; col++) {
+        int cell = row * this.cols + col;
 
-    if (xPlus < this.rows) {
-      currPaths.add(String.format("%d %d-%d %d", x, y, xPlus, y));
+        if (row + 1 < this.rows) {
+          paths[i] = cell * 2 + AXIS_SOUTH;
+          i += 1;
+        }
+        if (col + 1 < this.cols) {
+          paths[i] = cell * 2 + AXIS_EAST;
+          i += 1;
+        }
+        if (row == 0 && this.wrapRows) {
+          paths[i] = ((this.rows - 1) * this.cols + col) * 2 + AXIS_SOUTH;
+          i += 1;
+        }
+        if (col == 0 && this.wrapCols) {
+          paths[i] = (row * this.cols + this.cols - 1) * 2 + AXIS_EAST;
+          i += 1;
+        }
+      }
     }
-    if (xMinus >= 0) {
-      currPaths.add(String.format("%d %d-%d %d", x, y, xMinus, y));
+
+    return this.generator.usesLegacyOrder() ? this.sortInLegacyOrder(paths) : paths;
+  }
+
+  /*
+   * Earlier versions of the builder collected paths as "x1 y1-x2 y2" strings in a HashSet and
+   * picked from them in the set's iteration order. To keep seeded dungeons identical, the
+   * paths are stably sorted by the hash bucket their string would have occupied in that set.
+   * The string hash is computed arithmetically, so no strings are allocated.
+   */
+  private int[] sortInLegacyOrder(int[] paths) {
+    int capacity = 16;
+    while (paths.length > capacity * 3 / 4) {
+      capacity *= 2;
     }
-    if (yPlus < this.cols) {
-      currPaths.add(String.format("%d %d-%d %d", x, y, x, yPlus));
+
+    int[] bucketStart = new int[capacity + 1];
+    for (int path : paths) {
+      bucketStart[this.getLegacyBucket(path, capacity) + 1] += 1;
     }
-    if (yMinus >= 0) {
-      currPaths.add(String.format("%d %d-%d %d", x, y, x, yMinus));
+    for (int bucket = 0; bucket < capacity; bucket++) {
+      bucketStart[bucket + 1] += bucketStart[bucket];
     }
 
-    if (wrapping) {
-      if (xMinus < 0) {
-        currPaths.add(String.format("%d %d-%d %d", x, y, this.rows - 1, y));
-      }
-      if (yPlus > this.cols) {
-        currPaths.add(String.format("%d %d-%d %d", x, y, x, 0));
-      }
-      if (xPlus > this.rows) {
-        currPaths.add(String.format("%d %d-%d %d", x, y, 0, y));
-      }
-      if (yMinus < 0) {
-        currPaths.add(String.format("%d %d-%d %d", x, y, x, this.cols - 1));
-      }
+    int[] sortedPaths = new int[paths.length];
+    for (int path : paths) {
+      int bucket = this.getLegacyBucket(path, capacity);
+      sortedPaths[bucketStart[bucket]] = path;
+      bucketStart[bucket] += 1;
     }
 
-    return currPaths;
+    return sortedPaths;
   }
 
-  private Set<String> addToSet(List<String> currentPaths, Set<String> paths) {
-    for (String path : currentPaths) {
-      if (!(paths.contains(path)) && !(paths.contains(flipPath(path)))) {
-        paths.add(path);
-      }
-    }
-    return paths;
+  private int getLegacyBucket(int path, int capacity) {
+    int cell = path >> 1;
+    int neighbour = this.getOtherEnd(path);
+
+    // the legacy string always started with the node that was visited first
+    int first = Math.min(cell, neighbour);
+    int second = Math.max(cell, neighbour);
+
+    int hash = 0;
+    hash = hashDigits(hash, first / this.cols);
+    hash = 31 * hash + ' ';
+    hash = hashDigits(hash, first % this.cols);
+    hash = 31 * hash + '-';
+    hash = hashDigits(hash, second / this.cols);
+    hash = 31 * hash + ' ';
+    hash = hashDigits(hash, second % this.cols);
+
+    return (hash ^ (hash >>> 16)) & (capacity - 1);
   }
 
-  private String flipPath(String path) {
-    String[] points = path.split("-");
+  private static int hashDigits(int hash, int value) {
+    int divisor = 1;
+    while (divisor <= value / 10) {
+      divisor *= 10;
+    }
 
-    return points[1] + "-" + points[0];
+    while (divisor > 0) {
+      hash = 31 * hash + ('0' + (value / divisor) % 10);
+      divisor /= 10;
+    }
+
+    return hash;
   }
 
-  private Direction getDirection(int xOne, int yOne, int xTwo, int yTwo) {
-    if ((xTwo - xOne) == -1 && (yTwo - yOne) == 0) {
-      return Direction.NORTH;
-    } else if ((yTwo - yOne) == 1 && (xTwo - xOne) == 0) {
-      return Direction.EAST;
-    } else if ((xTwo - xOne) == 1 && (yTwo - yOne) == 0) {
-      return Direction.SOUTH;
-    } else if ((yTwo - yOne) == -1 && (xTwo - xOne) == 0) {
-      return Direction.WEST;
-    } else if ((xTwo - xOne) == (this.rows - 1) && (yTwo - yOne) == 0) {
-      return Direction.NORTH;
-    } else if ((yOne - yTwo) == (this.cols - 1) && (xTwo - xOne) == 0) {
-      return Direction.EAST;
-    } else if ((xOne - xTwo) == (this.rows - 1) && (yTwo - yOne) == 0) {
-      return Direction.SOUTH;
+  /**
+   * Method to get the cell joined by a path to the cell it is encoded with.
+   *
+   * @param path the encoded path
+   * @return the index of the other cell
+   */
+  int getOtherEnd(int path) {
+    if ((path & 1) == AXIS_SOUTH) {
+      return getNeighbour(path >> 1, Direction.SOUTH, this.rows, this.cols);
     } else {
-      return Direction.WEST;
+      return getNeighbour(path >> 1, Direction.EAST, this.rows, this.cols);
     }
   }
 
-  private <T> Set<T> mergeSet(Set<T> a, Set<T> b) {
-
-    // Creating an empty set
-    Set<T> mergedSet = new HashSet<>();
-
-    // add the two sets to be merged
-    // into the new set
-    mergedSet.addAll(a);
-    mergedSet.addAll(b);
+  /**
+   * Method to get the index of the cell adjacent to a given cell, wrapping around the edges
+   * of the grid. Whether there is a path between the two cells is not checked.
+   *
+   * @param cell the index of the cell
+   * @param d    the direction of the adjacent cell
+   * @param rows the no. of rows in the grid
+   * @param cols the no. of columns in the grid
+   * @return the index of the adjacent cell
+   */
+  static int getNeighbour(int cell, Direction d, int rows, int cols) {
+    int row = cell / cols;
+    int col = cell % cols;
+
+    if (d == Direction.NORTH) {
+      row = (row - 1 + rows) % rows;
+    } else if (d == Direction.SOUTH) {
+      row = (row + 1) % rows;
+    } else if (d == Direction.EAST) {
+      col = (col + 1) % cols;
+    } else {
+      col = (col - 1 + cols) % cols;
+    }
 
-    // returning the merged set
-    return mergedSet;
+    return row * cols + col;
   }
 }
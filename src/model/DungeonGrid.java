@@ -0,0 +1,292 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class represents a dungeon in the adventure game whose locations are stored in
+ * parallel primitive arrays instead of one object per location. It is meant for very large
+ * dungeons. Once built it needs about 13 bytes per location, with the smell counts, and 4
+ * more per cave for the index of the caves. While it is built, the search for the start and
+ * end takes about 12 more bytes per location, released once they are found.
+ *
+ * <p>The locations handed out are light views over these arrays. Two views of the same
+ * position are equal, and any change made through one view is seen by all of them.
+ * A seed builds the same dungeon as a {@link Dungeon} with the same arguments.
+ */
+public class DungeonGrid extends AbstractDungeon {
+  private static final Item[] ITEMS = MutableLocation.ITEMS;
+  private static final Smell[] SMELLS = Smell.values();
+
+  private final byte[] directions;
+  private final short[] itemCounts;
+  // 0 if there is no monster, else 1 + the no. of hits taken by the monster
+  private final byte[] monsterHealth;
+  private final byte[] smells;
+  private final BitSet visited;
+
+  /**
+   * Construct a game dungeon with the given arguments.
+   *
+   * @param rows              the no. of rows in the game dungeon
+   * @param columns           the no. of columns in the game dungeon
+   * @param wrapping          if the game dungeon needs to be wrapping, yes if true, false otherwise
+   * @param interconnectivity the degree of interconnectivity required for the dungeon
+   * @param treasurePct       the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters      the no. of monsters to be put in the caves, at least 1
+   * @param options           the optional settings used while generating the dungeon
+   * @param rand              the Random object, can be truly random or deterministic
+   * @throws IllegalArgumentException if rows, columns are less or equal to 0
+   *                                  or the interconnectivity is less than 0
+   *                                  or the percent of treasure caves is not between 0 and 100
+   *                                  or the generation options are null
+   * @throws IllegalStateException    if dungeon build is not successful using the given arguments
+   */
+  public DungeonGrid(int rows, int columns, boolean wrapping, int interconnectivity,
+                     double treasurePct, int noOfMonsters, GenerationOptions options, Random rand)
+          throws IllegalArgumentException, IllegalStateException {
+    super(rows, columns, interconnectivity, treasurePct, noOfMonsters, options, rand);
+
+    DungeonBuilder builder = new DungeonBuilder(rows, columns, wrapping, interconnectivity,
+            options, rand);
+    this.directions = builder.buildDirections();
+
+    for (byte mask : this.directions) {
+      if (mask == 0) {
+        throw new IllegalArgumentException("Possible cell directions should be valid!");
+      }
+    }
+
+    int size = rows * columns;
+    this.itemCounts = new short[size * ITEMS.length];
+    this.monsterHealth = new byte[size];
+    this.smells = new byte[size];
+    this.visited = new BitSet(size);
+
+    this.populate(treasurePct, noOfMonsters);
+  }
+
+  @Override
+  Location cellAt(int row, int col) {
+    return new GridLocation(row * this.cols + col);
+  }
+
+  @Override
+  int getNeighbourIndex(int cell, Direction d) {
+    if ((this.directions[cell] & d.getMask()) == 0) {
+      return -1;
+    }
+    return DungeonBuilder.getNeighbour(cell, d, this.rows, this.cols);
+  }
+
+  @Override
+  boolean isCave(int cell) {
+    return Integer.bitCount(this.directions[cell]) != 2;
+  }
+
+  @Override
+  void updateSmell(int cell, Smell smell) {
+    this.smells[cell] = (byte) smell.ordinal();
+  }
+
+  /**
+   * This class represents a view of one location of the grid.
+   */
+  private class GridLocation extends MutableLocation {
+    private final int index;
+
+    private GridLocation(int index) {
+      this.index = index;
+    }
+
+    @Override
+    void fill(Item item) {
+      int itemSlot = getItemSlot(item);
+      if (itemSlot < 0) {
+        throw new IllegalArgumentException("Unknown item " + item);
+      }
+
+      int slot = this.index * ITEMS.length + itemSlot;
+      if (itemCounts[slot] == Short.MAX_VALUE) {
+        throw new IllegalStateException("Cannot put more " + item.getName() + " in location!");
+      }
+      itemCounts[slot] += 1;
+    }
+
+    @Override
+    void pop(Item item, int count) {
+      int itemSlot = getItemSlot(item);
+      if (itemSlot >= 0) {
+        int slot = this.index * ITEMS.length + itemSlot;
+        itemCounts[slot] -= Math.min(count, itemCounts[slot]);
+      }
+    }
+
+    @Override
+    void putMonster(Monster monster) throws IllegalStateException {
+      if (this.hasMonster()) {
+        throw new IllegalStateException("Attempting to add monster to an already occupied cave!");
+      }
+      monsterHealth[this.index] = (byte) (1 + monster.getHitsTaken());
+    }
+
+    @Override
+    void updateSmell(Smell smell) {
+      smells[this.index] = (byte) smell.ordinal();
+    }
+
+    @Override
+    void markVisited() {
+      visited.set(this.index);
+    }
+
+    @Override
+    public int[] getCoordinates() {
+      return new int[]{this.index / cols, this.index % cols};
+    }
+
+    @Override
+    public int getIndex() {
+      return this.index;
+    }
+
+    @Override
+    public Set<Direction> getPossibleDirections() {
+      Set<Direction> possibleDirections = EnumSet.noneOf(Direction.class);
+
+      for (Direction d : Direction.values()) {
+        if ((directions[this.index] & d.getMask()) != 0) {
+          possibleDirections.add(d);
+        }
+      }
+
+      return possibleDirections;
+    }
+
+    @Override
+    public int getDirectionMask() {
+      return directions[this.index];
+    }
+
+    @Override
+    public int[] getNeighbour(Direction d) {
+      int neighbour = this.getNeighbourIndex(d);
+
+      if (neighbour < 0) {
+        throw new IllegalArgumentException("No neighbour in the " + d + " direction!");
+      }
+
+      return new int[]{neighbour / cols, neighbour % cols};
+    }
+
+    @Override
+    public int getNeighbourIndex(Direction d) {
+      if (d == null) {
+        throw new IllegalArgumentException("Given neighbour direction is null!");
+      }
+
+      return DungeonGrid.this.getNeighbourIndex(this.index, d);
+    }
+
+    @Override
+    public List<Item> getContent() {
+      List<Item> content = new ArrayList<>();
+
+      for (int slot = 0; slot < ITEMS.length; slot++) {
+        for (int i = 0; i < itemCounts[this.index * ITEMS.length + slot]; i++) {
+          content.add(ITEMS[slot]);
+        }
+      }
+
+      return content;
+    }
+
+    @Override
+    public int itemCount(Item item) {
+      int itemSlot = getItemSlot(item);
+
+      return itemSlot < 0 ? 0 : itemCounts[this.index * ITEMS.length + itemSlot];
+    }
+
+    @Override
+    public boolean hasMonster() {
+      return monsterHealth[this.index] != 0;
+    }
+
+    @Override
+    public Monster getMonster() throws IllegalStateException {
+      if (!this.hasMonster()) {
+        throw new IllegalStateException("No monster present!");
+      }
+
+      return new GridOtyugh(this);
+    }
+
+    @Override
+    public Smell getSmell() {
+      return SMELLS[smells[this.index]];
+    }
+
+    @Override
+    public boolean isCave() {
+      return Integer.bitCount(directions[this.index]) != 2;
+    }
+
+    @Override
+    public boolean isVisited() {
+      return visited.get(this.index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof GridLocation)) {
+        return false;
+      }
+
+      GridLocation that = (GridLocation) o;
+
+      return this.grid() == that.grid() && this.index == that.index;
+    }
+
+    @Override
+    public int hashCode() {
+      return Integer.hashCode(this.index);
+    }
+
+    private DungeonGrid grid() {
+      return DungeonGrid.this;
+    }
+  }
+
+  /**
+   * This class represents a view of the Otyugh dwelling in one location of the grid.
+   */
+  private class GridOtyugh extends Otyugh {
+    private final int index;
+
+    private GridOtyugh(GridLocation dwellLocation) {
+      super(dwellLocation);
+      this.index = dwellLocation.index;
+    }
+
+    @Override
+    void takeHit() {
+      if (monsterHealth[this.index] < Byte.MAX_VALUE) {
+        monsterHealth[this.index] += 1;
+      }
+    }
+
+    @Override
+    public int getHitsTaken() {
+      return monsterHealth[this.index] - 1;
+    }
+  }
+}
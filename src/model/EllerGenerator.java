@@ -0,0 +1,37 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents Eller's algorithm, joining the paths of the maze one row at a time as
+ * they are built by {@link EllerRows}.
+ */
+class EllerGenerator implements MazeGenerator {
+
+  @Override
+  public RandomBag carve(DungeonBuilder builder, PhaseProgress progress, Random rand) {
+    int cols = builder.getCols();
+    EllerRows rows = builder.streamRows();
+
+    int row = 0;
+    while (rows.hasNextRow()) {
+      byte[] masks = rows.nextRow();
+
+      for (int col = 0; col < cols; col++) {
+        int cell = row * cols + col;
+
+        if ((masks[col] & Direction.SOUTH.getMask()) != 0) {
+          builder.join(builder.getPath(cell, Direction.SOUTH));
+        }
+        if ((masks[col] & Direction.EAST.getMask()) != 0) {
+          builder.join(builder.getPath(cell, Direction.EAST));
+        }
+      }
+
+      row += 1;
+      progress.update(row * cols);
+    }
+
+    return builder.getUnjoinedPaths();
+  }
+}
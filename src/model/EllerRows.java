@@ -0,0 +1,145 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class represents Eller's algorithm, building a perfect maze one row at a time. Each cell
+ * of the current row belongs to a set of cells connected through the rows built so far:
+ * <ul>
+ *   <li>adjacent cells of different sets are joined at random, merging their sets, and in the
+ *       last row they are always joined, which connects the whole maze.</li>
+ *   <li>every set then goes down to the next row through at least one of its cells, picked at
+ *       random. The cells below that are not reached start in sets of their own.</li>
+ * </ul>
+ *
+ * <p>Only the sets of the current row are kept, so building a row takes time and memory in
+ * proportion to the no. of columns, whatever the no. of rows. Rows can wrap from the last
+ * column to the first, but paths between the last and the first rows are never joined.
+ */
+class EllerRows {
+  private final int rows;
+  private final int cols;
+  private final boolean wrapCols;
+  private final Random rand;
+
+  // the set of each cell of the next row, or -1 if the cell is not reached from above
+  private final int[] sets;
+  private int row;
+
+  /**
+   * Construct the rows of a maze that are yet to be built.
+   *
+   * @param rows     the no. of rows in the maze
+   * @param cols     the no. of columns in the maze
+   * @param wrapCols true if the last column can be joined to the first
+   * @param rand     the Random object used to pick the paths
+   */
+  EllerRows(int rows, int cols, boolean wrapCols, Random rand) {
+    this.rows = rows;
+    this.cols = cols;
+    this.wrapCols = wrapCols;
+    this.rand = rand;
+
+    this.sets = new int[cols];
+    Arrays.fill(this.sets, -1);
+    this.row = 0;
+  }
+
+  /**
+   * Method to check if there are rows left to be built.
+   *
+   * @return true if there are rows left, false otherwise
+   */
+  boolean hasNextRow() {
+    return this.row < this.rows;
+  }
+
+  /**
+   * Method to build the next row of the maze.
+   *
+   * @return the direction mask of every cell in the row, indexed by column
+   * @throws IllegalStateException if every row was built already
+   */
+  byte[] nextRow() throws IllegalStateException {
+    return this.nextRow(-1);
+  }
+
+  /**
+   * Method to build the next row of the maze, making sure that one cell of the row is joined
+   * to the cell below it.
+   *
+   * @param downCol the column of the cell joined down, or -1 for none; it is ignored in the
+   *                last row
+   * @return the direction mask of every cell in the row, indexed by column
+   * @throws IllegalStateException if every row was built already
+   */
+  byte[] nextRow(int downCol) throws IllegalStateException {
+    if (!this.hasNextRow()) {
+      throw new IllegalStateException("Every row of the maze was built already!");
+    }
+
+    byte[] masks = new byte[this.cols];
+    boolean last = this.row == this.rows - 1;
+
+    // cells reached from above are joined north, the others start sets of their own
+    boolean[] used = new boolean[this.cols];
+    for (int col = 0; col < this.cols; col++) {
+      if (this.sets[col] >= 0) {
+        used[this.sets[col]] = true;
+        masks[col] |= Direction.NORTH.getMask();
+      }
+    }
+    int free = 0;
+    for (int col = 0; col < this.cols; col++) {
+      if (this.sets[col] < 0) {
+        while (used[free]) {
+          free += 1;
+        }
+        this.sets[col] = free;
+        used[free] = true;
+      }
+    }
+
+    // join adjacent cells of different sets
+    DisjointSet merged = new DisjointSet(this.cols);
+    int noOfPairs = this.wrapCols ? this.cols : this.cols - 1;
+    for (int col = 0; col < noOfPairs; col++) {
+      int east = (col + 1) % this.cols;
+
+      if (merged.find(this.sets[col]) != merged.find(this.sets[east])
+              && (last || this.rand.nextBoolean())) {
+        merged.union(this.sets[col], this.sets[east]);
+        masks[col] |= Direction.EAST.getMask();
+        masks[east] |= Direction.WEST.getMask();
+      }
+    }
+    for (int col = 0; col < this.cols; col++) {
+      this.sets[col] = merged.find(this.sets[col]);
+    }
+
+    if (!last) {
+      // every set goes down through one cell picked at random, and maybe more
+      int[] seen = new int[this.cols];
+      int[] down = new int[this.cols];
+      for (int col = 0; col < this.cols; col++) {
+        int set = this.sets[col];
+        seen[set] += 1;
+        if (this.rand.nextInt(seen[set]) == 0) {
+          down[set] = col;
+        }
+      }
+
+      for (int col = 0; col < this.cols; col++) {
+        if (down[this.sets[col]] == col || col == downCol || this.rand.nextBoolean()) {
+          masks[col] |= Direction.SOUTH.getMask();
+        } else {
+          this.sets[col] = -1;
+        }
+      }
+    }
+
+    this.row += 1;
+    return masks;
+  }
+}
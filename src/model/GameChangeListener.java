@@ -0,0 +1,19 @@
+package model;
+
+import java.util.List;
+
+/**
+ * This interface represents a listener that is told whenever the state of the game changes,
+ * for e.g. when the player moves, picks an item or shoots an arrow.
+ * Listeners can use the changed locations to redraw only those parts of the dungeon.
+ */
+public interface GameChangeListener {
+
+  /**
+   * Method called after the game changed. The player may have changed along with the locations,
+   * for e.g. the arrows left after a shot that changed no location.
+   *
+   * @param changed the locations whose state changed, empty if none did
+   */
+  void gameChanged(List<Location> changed);
+}
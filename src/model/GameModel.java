@@ -21,6 +21,17 @@ public interface GameModel extends ReadonlyGameModel {
    */
   void pickItem(Item i);
 
+  /**
+   * Method to pick several items of the given type from the current location of the player
+   * at once, for e.g. all the arrows found there.
+   *
+   * @param i     the item to be picked from current location
+   * @param count the no. of items to be picked
+   * @throws IllegalArgumentException if the count is not positive or fewer items are present
+   *                                  at the current location
+   */
+  void pickItem(Item i, int count);
+
   /**
    * Method to shoot arrow in a given direction and distance
    * from the current location of the player.
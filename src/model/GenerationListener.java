@@ -0,0 +1,21 @@
+package model;
+
+/**
+ * This interface represents a listener that follows the progress of generating a game dungeon.
+ * It is called on the thread building the dungeon, so a listener that updates a user interface
+ * should hand the progress over to the user interface thread.
+ *
+ * <p>A listener can stop the generation by throwing an unchecked exception, for e.g. a
+ * {@link java.util.concurrent.CancellationException}, which the dungeon constructor passes on.
+ */
+public interface GenerationListener {
+
+  /**
+   * Method called when a generation phase starts, a few times while it runs, and when it ends.
+   *
+   * @param phase the running phase
+   * @param done  the amount of work done in the phase, from 0 to 'total'
+   * @param total the total amount of work in the phase
+   */
+  void progressed(GenerationPhase phase, int done, int total);
+}
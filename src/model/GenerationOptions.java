@@ -0,0 +1,201 @@
+package model;
+
+/**
+ * This class represents the optional settings used while generating a game dungeon.
+ * It is immutable, every 'with' method returns a copy having just that setting changed.
+ * The default options build the same dungeon for a given seed as earlier versions of the game.
+ */
+public final class GenerationOptions {
+  private static final GenerationListener NO_LISTENER = (phase, done, total) -> { };
+
+  private final PathSelection pathSelection;
+  private final int startSearchBatch;
+  private final GenerationListener listener;
+  private final GenerationStats stats;
+  private final PopulationMode populationMode;
+  private final MazeAlgorithm mazeAlgorithm;
+
+  /**
+   * Construct the default generation options.
+   */
+  public GenerationOptions() {
+    this(PathSelection.ORDERED, 1, NO_LISTENER, null, PopulationMode.SAMPLING,
+            MazeAlgorithm.KRUSKAL);
+  }
+
+  private GenerationOptions(PathSelection pathSelection, int startSearchBatch,
+                            GenerationListener listener, GenerationStats stats,
+                            PopulationMode populationMode, MazeAlgorithm mazeAlgorithm) {
+    this.pathSelection = pathSelection;
+    this.startSearchBatch = startSearchBatch;
+    this.listener = listener;
+    this.stats = stats;
+    this.populationMode = populationMode;
+    this.mazeAlgorithm = mazeAlgorithm;
+  }
+
+  /**
+   * Method to get a copy of these options using the given path selection.
+   *
+   * @param selection the way paths are picked while building the dungeon
+   * @return the changed options
+   * @throws IllegalArgumentException if the path selection is null
+   */
+  public GenerationOptions withPathSelection(PathSelection selection)
+          throws IllegalArgumentException {
+    if (selection == null) {
+      throw new IllegalArgumentException("Path selection cannot be null!");
+    }
+
+    return new GenerationOptions(selection, this.startSearchBatch, this.listener, this.stats,
+            this.populationMode, this.mazeAlgorithm);
+  }
+
+  /**
+   * Method to get a copy of these options that searches for the start and end caves from
+   * several candidate start caves at once, in parallel.
+   *
+   * <p>The start and end caves found are the same as for a search one candidate at a time.
+   * However, a batch draws a random number for each of its candidates even when an earlier one
+   * succeeds, so the items and monsters placed afterwards can differ from those of the same seed
+   * searched one candidate at a time. A given seed and batch size always build the same dungeon.
+   *
+   * @param batchSize the no. of candidate start caves searched at once, 1 to search one at a time
+   * @return the changed options
+   * @throws IllegalArgumentException if the batch size is less than 1
+   */
+  public GenerationOptions withParallelStartSearch(int batchSize)
+          throws IllegalArgumentException {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Start search batch size should be positive!");
+    }
+
+    return new GenerationOptions(this.pathSelection, batchSize, this.listener, this.stats,
+            this.populationMode, this.mazeAlgorithm);
+  }
+
+  /**
+   * Method to get a copy of these options that tells the given listener about the progress
+   * of the generation. The listener does not change the dungeon built.
+   *
+   * @param listener the listener to be told about the progress
+   * @return the changed options
+   * @throws IllegalArgumentException if the listener is null
+   */
+  public GenerationOptions withListener(GenerationListener listener)
+          throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Generation listener cannot be null!");
+    }
+
+    return new GenerationOptions(this.pathSelection, this.startSearchBatch, listener,
+            this.stats, this.populationMode, this.mazeAlgorithm);
+  }
+
+  /**
+   * Method to get a copy of these options that records measurements of the generation into
+   * the given stats. The stats should be new, as they measure a single dungeon.
+   *
+   * @param stats the stats to be filled
+   * @return the changed options
+   * @throws IllegalArgumentException if the stats are null
+   */
+  public GenerationOptions withStats(GenerationStats stats) throws IllegalArgumentException {
+    if (stats == null) {
+      throw new IllegalArgumentException("Generation stats cannot be null!");
+    }
+
+    return new GenerationOptions(this.pathSelection, this.startSearchBatch, this.listener,
+            stats, this.populationMode, this.mazeAlgorithm);
+  }
+
+  /**
+   * Method to get a copy of these options using the given way of picking the locations filled
+   * with treasure, arrows and monsters.
+   *
+   * @param mode the population mode
+   * @return the changed options
+   * @throws IllegalArgumentException if the mode is null
+   */
+  public GenerationOptions withPopulationMode(PopulationMode mode)
+          throws IllegalArgumentException {
+    if (mode == null) {
+      throw new IllegalArgumentException("Population mode cannot be null!");
+    }
+
+    return new GenerationOptions(this.pathSelection, this.startSearchBatch, this.listener,
+            this.stats, mode, this.mazeAlgorithm);
+  }
+
+  /**
+   * Method to get a copy of these options using the given algorithm to pick the paths of the
+   * perfect maze the dungeon is built on.
+   *
+   * @param algorithm the maze algorithm
+   * @return the changed options
+   * @throws IllegalArgumentException if the algorithm is null
+   */
+  public GenerationOptions withMazeAlgorithm(MazeAlgorithm algorithm)
+          throws IllegalArgumentException {
+    if (algorithm == null) {
+      throw new IllegalArgumentException("Maze algorithm cannot be null!");
+    }
+
+    return new GenerationOptions(this.pathSelection, this.startSearchBatch, this.listener,
+            this.stats, this.populationMode, algorithm);
+  }
+
+  /**
+   * Method to get the way paths are picked while building the dungeon.
+   *
+   * @return the path selection
+   */
+  public PathSelection getPathSelection() {
+    return this.pathSelection;
+  }
+
+  /**
+   * Method to get the no. of candidate start caves searched at once.
+   *
+   * @return the batch size, 1 if candidates are searched one at a time
+   */
+  public int getStartSearchBatch() {
+    return this.startSearchBatch;
+  }
+
+  /**
+   * Method to get the listener told about the progress of the generation.
+   *
+   * @return the listener, one that ignores the progress if none was given
+   */
+  public GenerationListener getListener() {
+    return this.listener;
+  }
+
+  /**
+   * Method to get the stats filled while generating the dungeon.
+   *
+   * @return the stats, or null if none were given
+   */
+  public GenerationStats getStats() {
+    return this.stats;
+  }
+
+  /**
+   * Method to get the way of picking the locations filled with treasure, arrows and monsters.
+   *
+   * @return the population mode
+   */
+  public PopulationMode getPopulationMode() {
+    return this.populationMode;
+  }
+
+  /**
+   * Method to get the algorithm picking the paths of the perfect maze the dungeon is built on.
+   *
+   * @return the maze algorithm
+   */
+  public MazeAlgorithm getMazeAlgorithm() {
+    return this.mazeAlgorithm;
+  }
+}
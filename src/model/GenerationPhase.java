@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * This enum class represents the phases of generating a game dungeon, in the order they run.
+ */
+public enum GenerationPhase {
+  /**
+   * Carving the paths between the locations.
+   */
+  PATHS,
+  /**
+   * Searching for start and end caves far enough from each other.
+   */
+  START_END,
+  /**
+   * Filling the caves with treasure, arrows and monsters.
+   */
+  POPULATION
+}
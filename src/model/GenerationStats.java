@@ -0,0 +1,216 @@
+package model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * This class represents measurements taken while generating a game dungeon, for every
+ * generation step: the time taken, the no. of breadth-first searches run and of locations they
+ * visited, the no. of random draws that were retried, and the no. of bytes allocated.
+ *
+ * <p>Create an instance, pass it with {@link GenerationOptions#withStats(GenerationStats)} to
+ * the dungeon constructor and read it once the dungeon is built. An instance measures a single
+ * dungeon; it is filled on the thread building the dungeon.
+ *
+ * <p>The retries of a step are the draws that did not add anything: paths joining already
+ * connected locations, start caves without a far enough end, and treasure or arrow draws
+ * landing on locations already filled. The allocated bytes are an estimate from the JVM for the
+ * building thread only, so searches run in parallel are not counted; they are -1 if the JVM
+ * does not measure allocations.
+ */
+public final class GenerationStats {
+  private static final GenerationStep[] STEPS = GenerationStep.values();
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private final boolean enabled;
+
+  private final long[] nanos;
+  private final long[] searches;
+  private final long[] visited;
+  private final long[] retries;
+  private final long[] allocated;
+
+  private GenerationStep current;
+  private long startedAt;
+  private long allocatedAt;
+
+  /**
+   * Construct empty generation measurements.
+   */
+  public GenerationStats() {
+    this(true);
+  }
+
+  private GenerationStats(boolean enabled) {
+    this.enabled = enabled;
+
+    this.nanos = new long[STEPS.length];
+    this.searches = new long[STEPS.length];
+    this.visited = new long[STEPS.length];
+    this.retries = new long[STEPS.length];
+    this.allocated = new long[STEPS.length];
+  }
+
+  /**
+   * Method to get measurements that ignore everything recorded, used when none are asked for.
+   *
+   * @return measurements that stay empty
+   */
+  static GenerationStats disabled() {
+    return new GenerationStats(false);
+  }
+
+  /**
+   * Method to record that a step started.
+   *
+   * @param step the starting step
+   */
+  void begin(GenerationStep step) {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.current = step;
+    this.allocatedAt = getAllocatedBytes();
+    this.startedAt = System.nanoTime();
+  }
+
+  /**
+   * Method to record that the step started last has ended.
+   */
+  void end() {
+    if (!this.enabled || this.current == null) {
+      return;
+    }
+
+    int step = this.current.ordinal();
+    this.nanos[step] += System.nanoTime() - this.startedAt;
+
+    long allocatedNow = getAllocatedBytes();
+    if (allocatedNow < 0 || this.allocatedAt < 0) {
+      this.allocated[step] = -1;
+    } else {
+      this.allocated[step] += allocatedNow - this.allocatedAt;
+    }
+
+    this.current = null;
+  }
+
+  /**
+   * Method to record a breadth-first search run in the current step. Searches can run in
+   * parallel, so it is synchronized.
+   *
+   * @param noOfVisited the no. of locations visited by the search
+   */
+  synchronized void recordSearch(int noOfVisited) {
+    if (!this.enabled || this.current == null) {
+      return;
+    }
+
+    this.searches[this.current.ordinal()] += 1;
+    this.visited[this.current.ordinal()] += noOfVisited;
+  }
+
+  /**
+   * Method to record a random draw retried in the current step.
+   */
+  void recordRetry() {
+    if (!this.enabled || this.current == null) {
+      return;
+    }
+
+    this.retries[this.current.ordinal()] += 1;
+  }
+
+  /**
+   * Method to get the time taken by a step.
+   *
+   * @param step the generation step
+   * @return the time taken in nanoseconds
+   */
+  public long getNanos(GenerationStep step) {
+    return this.nanos[step.ordinal()];
+  }
+
+  /**
+   * Method to get the time taken by all the steps.
+   *
+   * @return the time taken in nanoseconds
+   */
+  public long getTotalNanos() {
+    long total = 0;
+    for (long stepNanos : this.nanos) {
+      total += stepNanos;
+    }
+
+    return total;
+  }
+
+  /**
+   * Method to get the no. of breadth-first searches run in a step.
+   *
+   * @param step the generation step
+   * @return the no. of searches
+   */
+  public long getSearches(GenerationStep step) {
+    return this.searches[step.ordinal()];
+  }
+
+  /**
+   * Method to get the no. of locations visited by the breadth-first searches of a step,
+   * counting a location once per search visiting it.
+   *
+   * @param step the generation step
+   * @return the no. of visited locations
+   */
+  public long getVisited(GenerationStep step) {
+    return this.visited[step.ordinal()];
+  }
+
+  /**
+   * Method to get the no. of random draws retried in a step.
+   *
+   * @param step the generation step
+   * @return the no. of retries
+   */
+  public long getRetries(GenerationStep step) {
+    return this.retries[step.ordinal()];
+  }
+
+  /**
+   * Method to get the estimated no. of bytes allocated by the building thread in a step.
+   *
+   * @param step the generation step
+   * @return the no. of bytes, or -1 if the JVM does not measure allocations
+   */
+  public long getAllocatedBytes(GenerationStep step) {
+    return this.allocated[step.ordinal()];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder stats = new StringBuilder();
+    stats.append(String.format("%-10s %12s %9s %12s %9s %14s%n",
+            "step", "nanos", "searches", "visited", "retries", "bytes"));
+
+    for (GenerationStep step : STEPS) {
+      stats.append(String.format("%-10s %12d %9d %12d %9d %14d%n", step,
+              this.getNanos(step), this.getSearches(step), this.getVisited(step),
+              this.getRetries(step), this.getAllocatedBytes(step)));
+    }
+
+    return stats.toString();
+  }
+
+  private static long getAllocatedBytes() {
+    if (THREADS instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+
+      if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+
+    return -1;
+  }
+}
@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * This enum class represents the steps of generating a game dungeon that are measured by
+ * {@link GenerationStats}, in the order they run. They split the generation phases more finely.
+ */
+public enum GenerationStep {
+  /**
+   * Carving the paths between the locations, part of {@link GenerationPhase#PATHS}.
+   */
+  PATHS,
+  /**
+   * Creating the location objects for the carved paths, part of {@link GenerationPhase#PATHS}.
+   * Dungeons that do not create an object per location skip it.
+   */
+  LOCATIONS,
+  /**
+   * Searching for start and end caves, the whole of {@link GenerationPhase#START_END}.
+   */
+  START_END,
+  /**
+   * Filling caves with treasure, part of {@link GenerationPhase#POPULATION}.
+   */
+  TREASURE,
+  /**
+   * Filling locations with arrows, part of {@link GenerationPhase#POPULATION}.
+   */
+  ARROWS,
+  /**
+   * Putting monsters in caves and spreading their smell, part of
+   * {@link GenerationPhase#POPULATION}.
+   */
+  MONSTERS
+}
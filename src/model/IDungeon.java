@@ -31,6 +31,16 @@ public interface IDungeon {
    */
   Location getLocation(int x, int y);
 
+  /**
+   * Method to get the location with the given index in the game dungeon grid, where the
+   * location at (x, y) on a grid with c columns has the index x * c + y.
+   *
+   * @param index the index of the queried location
+   * @return the Location with the given index
+   * @throws IllegalArgumentException if the index is out of bounds
+   */
+  Location getLocation(int index);
+
   /**
    * Method to get the total number of caves in the game dungeon.
    *
@@ -38,6 +48,17 @@ public interface IDungeon {
    */
   int getNoOfCaves();
 
+  /**
+   * Method to get a cave of the game dungeon without scanning the grid. The caves are ordered
+   * by their index, so 'getCave(0)' to 'getCave(getNoOfCaves() - 1)' go over every cave in
+   * row-major order.
+   *
+   * @param i the position of the cave, from 0 to 'getNoOfCaves() - 1'
+   * @return the location of the cave
+   * @throws IllegalArgumentException if the position is out of bounds
+   */
+  Location getCave(int i);
+
   /**
    * Method to get the total number of tunnels in the game dungeon.
    *
@@ -45,5 +66,19 @@ public interface IDungeon {
    */
   int getNoOfTunnels();
 
+  /**
+   * Method to get the number of rows in the game dungeon grid.
+   *
+   * @return  the number of rows
+   */
+  int getNoOfRows();
+
+  /**
+   * Method to get the number of columns in the game dungeon grid.
+   *
+   * @return  the number of columns
+   */
+  int getNoOfColumns();
+
   Location[][] getDungeonGrid();
 }
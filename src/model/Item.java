@@ -18,4 +18,12 @@ public interface Item {
    * @param player the player in the game that is to pick the item
    */
   void pick(Player player);
+
+  /**
+   * Method to pick several items of this type at once.
+   *
+   * @param player the player in the game that is to pick the items
+   * @param count  the no. of items to be picked
+   */
+  void pick(Player player, int count);
 }
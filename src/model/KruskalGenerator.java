@@ -0,0 +1,60 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents randomized Kruskal's algorithm. Paths are drawn at random from all the
+ * potential paths and joined unless both of their cells are connected already, which a
+ * {@link DisjointSet} tracks. The paths left out are kept in the order they were drawn, so a
+ * seed builds the same dungeon as earlier versions of the game.
+ *
+ * <p>Also like earlier versions, the last path in the bag is never drawn. It is not joined and
+ * not kept for interconnectivity, so the bag returned has one path less than the unjoined
+ * paths the other generators return. Keeping it would change the draws of the
+ * interconnectivity paths, and with them every seeded dungeon. On grids without bridges the
+ * maze is complete before the last path, so it is one of the paths left out.
+ */
+class KruskalGenerator implements MazeGenerator {
+
+  @Override
+  public RandomBag carve(DungeonBuilder builder, PhaseProgress progress, Random rand) {
+    int[] potentialPaths = builder.getPotentialPaths();
+
+    // put all nodes in separate sets
+    DisjointSet nodeSets = new DisjointSet(builder.getRows() * builder.getCols());
+
+    // choose a random path from list of potential paths
+    RandomBag paths = new RandomBag(potentialPaths.length, builder.hasOrderedPaths());
+    for (int path : potentialPaths) {
+      paths.add(path);
+    }
+    RandomBag leftoverPaths = new RandomBag(potentialPaths.length, builder.hasOrderedPaths());
+
+    int noOfJoined = 1;
+    // the last path is left in the bag, see the class doc
+    while (paths.size() > 1) {
+      int chosenPath = paths.draw(rand);
+
+      // construct the path by joining both nodes and putting them in same set
+      int cell = chosenPath >> 1;
+      int neighbour = builder.getOtherEnd(chosenPath);
+
+      if (!nodeSets.union(cell, neighbour)) {
+        // both nodes are already connected, keep the path for interconnectivity
+        leftoverPaths.add(chosenPath);
+        builder.recordRetry();
+      } else {
+        builder.join(chosenPath);
+        noOfJoined += 1;
+        progress.update(noOfJoined);
+      }
+    }
+
+    return leftoverPaths;
+  }
+
+  @Override
+  public boolean usesLegacyOrder() {
+    return true;
+  }
+}
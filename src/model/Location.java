@@ -17,6 +17,14 @@ public interface Location {
    */
   int[] getCoordinates();
 
+  /**
+   * Method to get the index of the location on the 2D grid, which is 'x * columns + y'.
+   * It never changes and, unlike 'getCoordinates()', does not allocate anything.
+   *
+   * @return  the index of the location
+   */
+  int getIndex();
+
   /**
    * Method to get the possible directions the player can move from the current location.
    *
@@ -24,16 +32,37 @@ public interface Location {
    */
   Set<Direction> getPossibleDirections();
 
+  /**
+   * Method to get the possible directions from the current location as a bit mask,
+   * with the bit of each possible direction given by {@link Direction#getMask()} set.
+   * Unlike 'getPossibleDirections()' this does not allocate anything.
+   *
+   * @return  the direction mask
+   */
+  int getDirectionMask();
+
   /**
    * Method to get the neighbor of a location in given direction.
    *
    * @param d the given direction to move a player
    * @return  the co-ordinates of the neighbor
    *
-   * @throws IllegalArgumentException if direction is null
+   * @throws IllegalArgumentException if direction is null or there is no neighbour in it
    */
   int[] getNeighbour(Direction d);
 
+  /**
+   * Method to get the index of the neighbor of a location in given direction, where the
+   * location at (x, y) on a grid with c columns has the index x * c + y.
+   * Unlike 'getNeighbour(Direction)' this does not allocate anything.
+   *
+   * @param d the given direction
+   * @return  the index of the neighbor, or -1 if there is no path in the given direction
+   *
+   * @throws IllegalArgumentException if direction is null
+   */
+  int getNeighbourIndex(Direction d);
+
   /**
    * Method to get the treasure contents of the location as a list.
    *
@@ -41,6 +70,15 @@ public interface Location {
    */
   List<Item> getContent();
 
+  /**
+   * Method to get the no. of items of the given type present at the location.
+   * Unlike 'getContent()' this does not allocate anything.
+   *
+   * @param item the item to be counted
+   * @return  the no. of such items, 0 if there are none
+   */
+  int itemCount(Item item);
+
   /**
    * Method to check if the given location houses a monster.
    *
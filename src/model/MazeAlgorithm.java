@@ -0,0 +1,33 @@
+package model;
+
+/**
+ * This enum class represents the algorithms that can pick the paths of the perfect maze a game
+ * dungeon is built on, before the paths for interconnectivity are added. Every algorithm keeps
+ * the wrapping of the dungeon and builds the same dungeon for a given seed every time, but
+ * different algorithms build different dungeons.
+ */
+public enum MazeAlgorithm {
+  /**
+   * Randomized Kruskal's algorithm, joining paths drawn at random unless they close a loop.
+   * It builds the same dungeon for a seed as earlier versions of the game.
+   */
+  KRUSKAL,
+
+  /**
+   * Wilson's algorithm, joining loop-erased random walks. Every perfect maze of the grid is
+   * equally likely to be built.
+   */
+  WILSON,
+
+  /**
+   * A recursive backtracker, walking to random unvisited cells and stepping back along the
+   * walk when stuck. It builds long winding corridors with few branches.
+   */
+  BACKTRACKER,
+
+  /**
+   * Eller's algorithm, joining the cells one row at a time and keeping just the state of one
+   * row. Wrapping paths between the last and the first rows are only used for interconnectivity.
+   */
+  ELLER;
+}
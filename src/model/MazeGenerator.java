@@ -0,0 +1,32 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This interface represents an algorithm picking the paths of a perfect maze over the cells of
+ * a dungeon builder, so that there is exactly one route between any two cells.
+ */
+interface MazeGenerator {
+
+  /**
+   * Method to join the paths of a perfect maze through 'builder.join()'.
+   *
+   * @param builder  the builder holding the grid
+   * @param progress the progress of the paths phase, updated with the no. of cells in the maze
+   * @param rand     the Random object used to pick the paths
+   * @return a bag of the potential paths left out of the maze, from which the paths for
+   *         interconnectivity are drawn; see {@link KruskalGenerator} for the one path it
+   *         leaves out of the bag
+   */
+  RandomBag carve(DungeonBuilder builder, PhaseProgress progress, Random rand);
+
+  /**
+   * Method to check if the potential paths should be listed in the order earlier versions of
+   * the builder used, which costs an extra pass over them.
+   *
+   * @return true if the generator draws from the paths in that order, false otherwise
+   */
+  default boolean usesLegacyOrder() {
+    return false;
+  }
+}
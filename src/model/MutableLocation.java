@@ -0,0 +1,62 @@
+package model;
+
+/**
+ * This class represents a Location whose state can be changed while building the dungeon and
+ * playing the game. The mutators are package-private so that only the model can use them.
+ */
+abstract class MutableLocation implements Location {
+  // the items that can be found in a location, each has a slot in the item counts of a location
+  static final Item[] ITEMS = new Item[]{Treasure.DIAMOND, Treasure.RUBY, Treasure.SAPPHIRE,
+      Weapon.ARROW};
+
+  /**
+   * Method to get the slot of an item in the item counts of a location.
+   *
+   * @param item the item
+   * @return the slot of the item, or -1 if the item cannot be found in a location
+   */
+  static int getItemSlot(Item item) {
+    for (int slot = 0; slot < ITEMS.length; slot++) {
+      if (ITEMS[slot] == item) {
+        return slot;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Method to put an item in the location.
+   *
+   * @param item the item to be added
+   */
+  abstract void fill(Item item);
+
+  /**
+   * Method to take items out of the location, as many as present up to the given count.
+   *
+   * @param item  the item to be removed
+   * @param count the no. of items to be removed
+   */
+  abstract void pop(Item item, int count);
+
+  /**
+   * Method to make the given monster dwell in the location.
+   *
+   * @param monster the monster to be added
+   * @throws IllegalStateException if the location already houses a monster
+   */
+  abstract void putMonster(Monster monster);
+
+  /**
+   * Method to set the intensity of smell detected at the location.
+   *
+   * @param smell the intensity of smell
+   */
+  abstract void updateSmell(Smell smell);
+
+  /**
+   * Method to mark the location as visited by the player.
+   */
+  abstract void markVisited();
+}
@@ -27,9 +27,9 @@ public class Otyugh implements Monster {
   boolean eatPlayer() {
     Random rand = new Random();
 
-    if (this.hitsTaken == 0) {
+    if (this.getHitsTaken() == 0) {
       return true;
-    } else if (this.hitsTaken == 1) {
+    } else if (this.getHitsTaken() == 1) {
       return (rand.nextInt(2) == 0);
     } else {
       return false;
@@ -48,6 +48,6 @@ public class Otyugh implements Monster {
 
   @Override
   public boolean isAlive() {
-    return (this.hitsTaken < 2);
+    return (this.getHitsTaken() < 2);
   }
 }
@@ -0,0 +1,140 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents a Fisher-Yates shuffle of the numbers 0 to n - 1 that is only run for
+ * as many steps as numbers are needed. Every step consumes exactly one
+ * {@code rand.nextInt(n - step)} call and gives a number not given before, so k distinct random
+ * numbers take k steps.
+ *
+ * <p>Small shuffles keep the numbers in an array. For larger ones the numbers are never stored
+ * as an array; only the positions moved by earlier steps are remembered, in an open-addressing
+ * table of ints, so a shuffle takes time and memory in proportion to the steps run, not to n.
+ */
+class PartialShuffle {
+  // shuffles up to this size use an array of all the numbers
+  private static final int DENSE_SIZE = 1024;
+
+  private final int size;
+  private final Random rand;
+  // the number at each position, for small shuffles, else null
+  private final int[] numbers;
+  // for large shuffles, 1 + a position changed by a swap, or 0 for an empty slot
+  private int[] movedPositions;
+  // the number at the position in the same slot
+  private int[] movedNumbers;
+  private int noOfMoved;
+  private int step;
+
+  /**
+   * Construct a shuffle of the numbers 0 to 'size - 1'.
+   *
+   * @param size the no. of numbers shuffled
+   * @param rand the Random object used for the swaps
+   */
+  PartialShuffle(int size, Random rand) {
+    this.size = size;
+    this.rand = rand;
+    this.step = 0;
+
+    if (size <= DENSE_SIZE) {
+      this.numbers = new int[size];
+      for (int i = 0; i < size; i++) {
+        this.numbers[i] = i;
+      }
+    } else {
+      this.numbers = null;
+      this.movedPositions = new int[16];
+      this.movedNumbers = new int[16];
+      this.noOfMoved = 0;
+    }
+  }
+
+  /**
+   * Method to check if numbers not given yet are left.
+   *
+   * @return true if there are numbers left, false otherwise
+   */
+  boolean hasNext() {
+    return this.step < this.size;
+  }
+
+  /**
+   * Method to get a random number not given yet.
+   *
+   * @return the number, from 0 to 'size - 1'
+   * @throws IllegalStateException if every number was given already
+   */
+  int next() throws IllegalStateException {
+    if (!this.hasNext()) {
+      throw new IllegalStateException("Every number was shuffled already!");
+    }
+
+    int picked = this.step + this.rand.nextInt(this.size - this.step);
+    int number = this.numberAt(picked);
+
+    // the number at the current step takes the place of the picked one, the current position
+    // is never picked again so it is left as it is
+    this.setNumberAt(picked, this.numberAt(this.step));
+    this.step += 1;
+
+    return number;
+  }
+
+  private int numberAt(int position) {
+    if (this.numbers != null) {
+      return this.numbers[position];
+    }
+
+    int slot = this.findSlot(this.movedPositions, position);
+    return this.movedPositions[slot] == 0 ? position : this.movedNumbers[slot];
+  }
+
+  private void setNumberAt(int position, int number) {
+    if (this.numbers != null) {
+      this.numbers[position] = number;
+      return;
+    }
+
+    int slot = this.findSlot(this.movedPositions, position);
+    if (this.movedPositions[slot] == 0) {
+      this.movedPositions[slot] = position + 1;
+      this.noOfMoved += 1;
+    }
+    this.movedNumbers[slot] = number;
+
+    // kept at most half full, so the probes stay short
+    if (this.noOfMoved * 2 > this.movedPositions.length) {
+      this.grow();
+    }
+  }
+
+  // linear probing from the hash of the position, to its slot or the empty slot it would take
+  private int findSlot(int[] positions, int position) {
+    int mask = positions.length - 1;
+    int hash = position * 0x9E3779B9;
+    int slot = (hash ^ hash >>> 16) & mask;
+
+    while (positions[slot] != 0 && positions[slot] != position + 1) {
+      slot = (slot + 1) & mask;
+    }
+
+    return slot;
+  }
+
+  private void grow() {
+    int[] oldPositions = this.movedPositions;
+    int[] oldNumbers = this.movedNumbers;
+    this.movedPositions = new int[oldPositions.length * 2];
+    this.movedNumbers = new int[oldNumbers.length * 2];
+
+    for (int i = 0; i < oldPositions.length; i++) {
+      if (oldPositions[i] != 0) {
+        int slot = this.findSlot(this.movedPositions, oldPositions[i] - 1);
+        this.movedPositions[slot] = oldPositions[i];
+        this.movedNumbers[slot] = oldNumbers[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * This enum class represents the ways in which paths can be picked from the pool of
+ * candidate paths while building the game dungeon.
+ */
+public enum PathSelection {
+  /**
+   * Remaining paths keep their order after every pick. Picks take linear time,
+   * and a seed always builds the same dungeon as in earlier versions of the game.
+   */
+  ORDERED,
+
+  /**
+   * The last remaining path takes the place of every picked path. Picks take constant time,
+   * a seed always builds the same dungeon, but it differs from the ordered one.
+   */
+  UNORDERED;
+}
@@ -0,0 +1,50 @@
+package model;
+
+/**
+ * This class represents the progress of one generation phase. It tells the generation listener
+ * about the progress when the phase starts, then about every percent of the work, and when the
+ * phase ends, so that the listener is not called for every step of a large dungeon.
+ */
+class PhaseProgress {
+  private final GenerationListener listener;
+  private final GenerationPhase phase;
+  private final int total;
+  private final int step;
+  private int nextReport;
+
+  /**
+   * Construct the progress of a phase that is starting.
+   *
+   * @param listener the listener to be told about the progress
+   * @param phase    the starting phase
+   * @param total    the total amount of work in the phase
+   */
+  PhaseProgress(GenerationListener listener, GenerationPhase phase, int total) {
+    this.listener = listener;
+    this.phase = phase;
+    this.total = total;
+    this.step = Math.max(1, total / 100);
+    this.nextReport = this.step;
+
+    this.listener.progressed(this.phase, 0, this.total);
+  }
+
+  /**
+   * Method to record the amount of work done so far.
+   *
+   * @param done the amount of work done, from 0 to the total
+   */
+  void update(int done) {
+    if (done >= this.nextReport && done < this.total) {
+      this.nextReport = done + this.step;
+      this.listener.progressed(this.phase, done, this.total);
+    }
+  }
+
+  /**
+   * Method to record that the phase ended.
+   */
+  void finish() {
+    this.listener.progressed(this.phase, this.total, this.total);
+  }
+}
@@ -1,8 +1,6 @@
 package model;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -12,7 +10,7 @@ import java.util.stream.Collectors;
 public class Player implements IPlayer {
   private Location currLocation;
   private final Map<Treasure, Integer> treasureCollected;
-  private final List<Weapon> arrows;
+  private int arrows;
   private boolean alive;
 
   /**
@@ -26,29 +24,31 @@ public class Player implements IPlayer {
     }
 
     this.currLocation = startLocation;
-    ((Cell) this.currLocation).markVisited();
+    ((MutableLocation) this.currLocation).markVisited();
     this.treasureCollected = new HashMap<>();
-    this.arrows = new ArrayList<>(List.of(Weapon.ARROW, Weapon.ARROW, Weapon.ARROW));
+    this.arrows = 3;
     this.alive = true;
   }
 
   void updateLocation(Location newLocation) {
     this.currLocation = newLocation;
-    ((Cell) this.currLocation).markVisited();
+    ((MutableLocation) this.currLocation).markVisited();
   }
 
-  void pickTreasure(Treasure t) {
-    this.treasureCollected.put(t, treasureCollected.getOrDefault(t, 0) + 1);
-    ((Cell) this.currLocation).pop(t);
+  void pickTreasure(Treasure t, int count) {
+    this.treasureCollected.put(t, treasureCollected.getOrDefault(t, 0) + count);
+    ((MutableLocation) this.currLocation).pop(t, count);
   }
 
-  void pickArrow(Weapon w) {
-    this.arrows.add(w);
-    ((Cell) this.currLocation).pop(w);
+  void pickArrow(Weapon w, int count) {
+    this.arrows += count;
+    ((MutableLocation) this.currLocation).pop(w, count);
   }
 
   void shootArrow() {
-    this.arrows.remove(Weapon.ARROW);
+    if (this.arrows > 0) {
+      this.arrows -= 1;
+    }
   }
 
   void die() {
@@ -70,7 +70,7 @@ public class Player implements IPlayer {
 
   @Override
   public int getArrowsLeft() {
-    return this.arrows.size();
+    return this.arrows;
   }
 
   @Override
@@ -0,0 +1,25 @@
+package model;
+
+/**
+ * This enum class represents the ways in which locations are picked for treasure, arrows and
+ * monsters while filling the game dungeon.
+ */
+public enum PopulationMode {
+  /**
+   * Random locations are drawn until enough of them are empty, and a location drawn again gets
+   * more items. The draws wasted on filled locations grow quickly as the percentage of filled
+   * locations nears 100, but a seed always fills the dungeon as in earlier versions of the game.
+   * For the same reason monster caves are drawn from an ordered list of caves, and removing
+   * each pick shifts the rest, so placing the monsters still takes O(caves x monsters).
+   */
+  SAMPLING,
+
+  /**
+   * Just the locations to be filled are drawn, without repeats, by partly shuffling the
+   * locations. Every picked location gets items once. It takes time in proportion to the no.
+   * of filled locations, a seed always fills the dungeon the same way, but it differs from the
+   * sampled one. Each monster cave is removed from the caves left by moving the last cave into
+   * its place, so placing the monsters takes O(caves + monsters).
+   */
+  SHUFFLED;
+}
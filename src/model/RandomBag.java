@@ -0,0 +1,110 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents a bag of int items from which items are drawn uniformly at random
+ * and removed. It is used by the dungeon builder as the pool of candidate paths, and by the
+ * dungeon as the pool of caves left for monsters.
+ *
+ * <p>Every draw consumes exactly one {@code rand.nextInt(size())} call, whatever the removal
+ * policy. The two policies only differ in how the remaining items are rearranged:
+ * <ul>
+ *   <li>an ordered bag shifts the items after the drawn one down by one, exactly like
+ *       {@code ArrayList.remove(int)}. A draw costs O(n), and the items drawn for a seed are the
+ *       same as those of the original list-based dungeon builder.</li>
+ *   <li>an unordered bag moves the last item into the drawn slot. A draw costs O(1), and for a
+ *       given seed the sequence of drawn items is just as reproducible. It matches the ordered
+ *       bag on the first draw only, so dungeons built from it differ from the ordered layouts
+ *       of the same seed.</li>
+ * </ul>
+ */
+class RandomBag {
+  private final int[] items;
+  private final boolean ordered;
+  private int size;
+
+  /**
+   * Construct an empty bag with room for the given number of items.
+   *
+   * @param capacity the maximum no. of items the bag can hold
+   * @param ordered  true if the remaining items should keep their insertion order, which makes
+   *                 draws O(n), false to swap the last item into the drawn slot in O(1)
+   */
+  RandomBag(int capacity, boolean ordered) {
+    this.items = new int[capacity];
+    this.ordered = ordered;
+    this.size = 0;
+  }
+
+  /**
+   * Method to add an item to the bag.
+   *
+   * @param item the item to be added
+   * @throws IllegalStateException if the bag is already full
+   */
+  void add(int item) throws IllegalStateException {
+    if (this.size == this.items.length) {
+      throw new IllegalStateException("Cannot add item to a full bag!");
+    }
+
+    this.items[this.size] = item;
+    this.size += 1;
+  }
+
+  /**
+   * Method to get the no. of items left in the bag.
+   *
+   * @return the no. of items
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Method to draw a random item and remove it from the bag.
+   *
+   * @param rand the Random object used to pick the item
+   * @return the drawn item
+   * @throws IllegalStateException if the bag is empty
+   */
+  int draw(Random rand) throws IllegalStateException {
+    if (this.size == 0) {
+      throw new IllegalStateException("Cannot draw from an empty bag!");
+    }
+
+    int index = rand.nextInt(this.size);
+    int item = this.items[index];
+
+    this.removeAt(index);
+
+    return item;
+  }
+
+  /**
+   * Method to remove the given item from the bag, if it is in the bag. Finding the item takes
+   * O(n), so it is meant for the few items known to be left out before drawing.
+   *
+   * @param item the item to be removed
+   * @return true if the item was removed, false if it was not in the bag
+   */
+  boolean remove(int item) {
+    for (int i = 0; i < this.size; i++) {
+      if (this.items[i] == item) {
+        this.removeAt(i);
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private void removeAt(int index) {
+    if (this.ordered) {
+      System.arraycopy(this.items, index + 1, this.items, index, this.size - index - 1);
+    } else {
+      this.items[index] = this.items[this.size - 1];
+    }
+    this.size -= 1;
+  }
+}
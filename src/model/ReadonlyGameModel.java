@@ -49,4 +49,19 @@ public interface ReadonlyGameModel {
    * @return  the current game state as a string
    */
   String getGameState();
+
+  /**
+   * Method to register a listener that is told about every change to the game.
+   *
+   * @param listener the listener to be added
+   * @throws IllegalArgumentException if the listener is null
+   */
+  void addChangeListener(GameChangeListener listener);
+
+  /**
+   * Method to stop telling a listener about the changes to the game, if it was registered.
+   *
+   * @param listener the listener to be removed
+   */
+  void removeChangeListener(GameChangeListener listener);
 }
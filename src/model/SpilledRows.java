@@ -0,0 +1,196 @@
+package model;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class represents the rows of a dungeon kept partly in memory and partly in a temporary
+ * file. The rows used most recently stay in memory; when there are too many, the least
+ * recently used row is written to the file and read back the next time it is used.
+ *
+ * <p>Every row takes a record of the same size in the file, at the position of its row number,
+ * so a row is read or written at a single position.
+ *
+ * <p>The file is deleted when it is closed, or when the JVM exits if it never is. If the rows
+ * become unreachable without being closed, the file is closed once they are garbage collected.
+ */
+class SpilledRows {
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  private final int cols;
+  private final int recordSize;
+  private final Map<Integer, Row> cached;
+  private final FileChannel file;
+  private final Cleaner.Cleanable cleanable;
+
+  /**
+   * Construct an empty set of rows, creating the temporary file for the rows spilled.
+   *
+   * @param cols     the no. of columns in a row
+   * @param capacity the maximum no. of rows kept in memory
+   * @throws IllegalStateException if the temporary file cannot be created
+   */
+  SpilledRows(int cols, int capacity) throws IllegalStateException {
+    this.cols = cols;
+    // direction masks, item counts, monster health and visited flags
+    this.recordSize = cols * (1 + 2 * MutableLocation.ITEMS.length + 1 + 1);
+
+    try {
+      this.file = FileChannel.open(Files.createTempFile("dungeon-rows", ".bin"),
+              StandardOpenOption.READ, StandardOpenOption.WRITE,
+              StandardOpenOption.DELETE_ON_CLOSE);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Cannot create file for dungeon rows!");
+    }
+    // the action must not refer to these rows, or they would never become unreachable
+    this.cleanable = CLEANER.register(this, new FileCloser(this.file));
+
+    this.cached = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Row> eldest) {
+        if (this.size() > capacity) {
+          write(eldest.getKey(), eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Method to add a newly built row.
+   *
+   * @param row    the row number
+   * @param masks  the direction mask of every cell in the row
+   * @return the row, with no items, monsters or visits
+   */
+  Row add(int row, byte[] masks) {
+    Row added = new Row(masks);
+    this.cached.put(row, added);
+
+    return added;
+  }
+
+  /**
+   * Method to get a row added earlier, reading it back from the file if it was spilled.
+   *
+   * @param row the row number
+   * @return the row
+   * @throws IllegalStateException if the row cannot be read
+   */
+  Row get(int row) throws IllegalStateException {
+    Row cachedRow = this.cached.get(row);
+    if (cachedRow != null) {
+      return cachedRow;
+    }
+
+    Row readRow = this.read(row);
+    this.cached.put(row, readRow);
+
+    return readRow;
+  }
+
+  /**
+   * Method to close and delete the file of spilled rows.
+   *
+   * @throws IllegalStateException if the file cannot be deleted
+   */
+  void close() throws IllegalStateException {
+    this.cleanable.clean();
+  }
+
+  private void write(int row, Row spilled) {
+    ByteBuffer record = ByteBuffer.allocate(this.recordSize);
+    record.put(spilled.masks);
+    for (short count : spilled.itemCounts) {
+      record.putShort(count);
+    }
+    record.put(spilled.monsterHealth);
+    record.put(spilled.visited);
+
+    record.flip();
+    try {
+      long position = (long) row * this.recordSize;
+      while (record.hasRemaining()) {
+        position += this.file.write(record, position);
+      }
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Cannot spill dungeon row " + row + "!");
+    }
+  }
+
+  private Row read(int row) {
+    ByteBuffer record = ByteBuffer.allocate(this.recordSize);
+
+    try {
+      long position = (long) row * this.recordSize;
+      while (record.hasRemaining()) {
+        int read = this.file.read(record, position);
+        if (read < 0) {
+          throw new IOException("Spilled row is cut short");
+        }
+        position += read;
+      }
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Cannot read dungeon row " + row + "!");
+    }
+
+    record.flip();
+    Row readRow = new Row(new byte[this.cols]);
+    record.get(readRow.masks);
+    for (int i = 0; i < readRow.itemCounts.length; i++) {
+      readRow.itemCounts[i] = record.getShort();
+    }
+    record.get(readRow.monsterHealth);
+    record.get(readRow.visited);
+
+    return readRow;
+  }
+
+  /**
+   * This class represents the state of the locations of one row, stored like in
+   * {@link DungeonGrid} and indexed by column.
+   */
+  static class Row {
+    final byte[] masks;
+    final short[] itemCounts;
+    // 0 if there is no monster, else 1 + the no. of hits taken by the monster
+    final byte[] monsterHealth;
+    // 1 if the location was visited, else 0
+    final byte[] visited;
+
+    private Row(byte[] masks) {
+      this.masks = masks;
+      this.itemCounts = new short[masks.length * MutableLocation.ITEMS.length];
+      this.monsterHealth = new byte[masks.length];
+      this.visited = new byte[masks.length];
+    }
+  }
+
+  /**
+   * This class represents the closing of the file of spilled rows, run once by 'close()' or
+   * by the cleaner.
+   */
+  private static class FileCloser implements Runnable {
+    private final FileChannel file;
+
+    private FileCloser(FileChannel file) {
+      this.file = file;
+    }
+
+    @Override
+    public void run() {
+      try {
+        this.file.close();
+      } catch (IOException ioe) {
+        throw new IllegalStateException("Cannot delete file of dungeon rows!");
+      }
+    }
+  }
+}
@@ -0,0 +1,622 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class represents a dungeon in the adventure game that is built one row at a time, as
+ * the rows are first used, for dungeons too tall to be built before the game starts. The paths
+ * are built with Eller's algorithm, which keeps the state of one row only. The rows used most
+ * recently are kept in memory and the others are spilled to a temporary file.
+ *
+ * <p>A row is filled as soon as it is built, so a few things differ from the other dungeons:
+ * <ul>
+ *   <li>the start is a cave of the first row and the end a cave of the last row, in different
+ *       columns. They are made caves by joining one more path to them if needed.</li>
+ *   <li>the interconnectivity paths and the monsters are spread evenly over the rows, each
+ *       joining a random pair of adjacent cells or going in a random cave of its row.
+ *       Paths or monsters that do not fit in their row go to the next rows, and those that
+ *       still do not fit by the last row are left out.</li>
+ *   <li>treasure and arrows are placed in each row like the shuffled population, in the given
+ *       percentage of the caves and of the locations of the row.</li>
+ *   <li>smells are worked out from the living monsters nearby whenever they are asked for.</li>
+ *   <li>the dungeon does not wrap from the last row to the first.</li>
+ * </ul>
+ *
+ * <p>The methods about the whole dungeon, such as counting its caves or getting its grid,
+ * build every row. The locations handed out are light views like those of
+ * {@link DungeonGrid}. A seed builds the same dungeon whatever order its rows are used in.
+ *
+ * <p>Whoever creates the dungeon owns it and should close it once the game is over, as the
+ * game model does not. A dungeon that is not closed has its file deleted once the dungeon is
+ * garbage collected, or at the latest when the JVM exits.
+ */
+public class StreamedDungeon extends AbstractDungeon implements AutoCloseable {
+  private static final Item[] ITEMS = MutableLocation.ITEMS;
+  private static final Treasure[] TREASURES = new Treasure[]{Treasure.DIAMOND, Treasure.RUBY,
+      Treasure.SAPPHIRE};
+  private static final Direction[] DIRECTIONS = Direction.values();
+  private static final int MIN_ROWS = 6;
+  private static final int MIN_COLS = 4;
+  private static final int CACHED_ROWS = 64;
+
+  private final boolean wrapCols;
+  private final int interconnectivity;
+  private final double treasurePct;
+  private final int noOfMonsters;
+
+  private final EllerRows mazeRows;
+  private final SpilledRows spilledRows;
+  private final int startCol;
+  private final int endCol;
+
+  private int noOfRowsBuilt;
+  // the no. of caves in each row and the rows before it, to find the i-th cave of the dungeon
+  private final int[] cavesUpTo;
+  // paths and monsters that did not fit in the rows they were meant for
+  private int pendingPaths;
+  private int pendingMonsters;
+
+  /**
+   * Construct a game dungeon with the given arguments, building none of its rows yet.
+   *
+   * @param rows              the no. of rows in the game dungeon, at least 6
+   * @param columns           the no. of columns in the game dungeon, at least 4
+   * @param wrapping          if the game dungeon needs to wrap from the last column to the first
+   * @param interconnectivity the no. of extra paths spread over the rows
+   * @param treasurePct       the percentage of caves to be filled with treasure, between 0 and 100
+   * @param noOfMonsters      the no. of monsters to be put in the caves, at least 1
+   * @param options           the optional settings used while generating the dungeon, of which
+   *                          only the path selection matters
+   * @param rand              the Random object, can be truly random or deterministic
+   * @throws IllegalArgumentException if there are less than 6 rows or 4 columns
+   *                                  or more than 2^31 - 1 locations
+   *                                  or the interconnectivity is less than 0
+   *                                  or the percent of treasure caves is not between 0 and 100
+   *                                  or the no. of monsters is less than 1
+   *                                  or the generation options are null
+   * @throws IllegalStateException    if the temporary file for the rows cannot be created
+   */
+  public StreamedDungeon(int rows, int columns, boolean wrapping, int interconnectivity,
+                         double treasurePct, int noOfMonsters, GenerationOptions options,
+                         Random rand) throws IllegalArgumentException, IllegalStateException {
+    super(rows, columns, interconnectivity, treasurePct, noOfMonsters, options, rand);
+
+    if (rows < MIN_ROWS) {
+      throw new IllegalArgumentException("Streamed dungeon needs at least " + MIN_ROWS
+              + " rows!");
+    } else if (columns < MIN_COLS) {
+      throw new IllegalArgumentException("Streamed dungeon needs at least " + MIN_COLS
+              + " columns!");
+    } else if ((long) rows * columns > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Streamed dungeon cannot have more than "
+              + Integer.MAX_VALUE + " locations!");
+    }
+
+    this.wrapCols = wrapping;
+    this.interconnectivity = interconnectivity;
+    this.treasurePct = treasurePct;
+    this.noOfMonsters = noOfMonsters;
+
+    this.mazeRows = new DungeonBuilder(rows, columns, wrapping, interconnectivity, options, rand)
+            .streamRows();
+    this.spilledRows = new SpilledRows(columns, CACHED_ROWS);
+
+    // a cell away from the edges can always be made a cave, see 'makeCave()'
+    this.startCol = this.pickCaveColumn();
+    int col = this.pickCaveColumn();
+    while (col == this.startCol) {
+      col = this.pickCaveColumn();
+    }
+    this.endCol = col;
+
+    this.noOfRowsBuilt = 0;
+    this.cavesUpTo = new int[rows];
+    this.pendingPaths = 0;
+    this.pendingMonsters = 0;
+  }
+
+  private int pickCaveColumn() {
+    if (this.wrapCols) {
+      return this.rand.nextInt(this.cols);
+    }
+    return 1 + this.rand.nextInt(this.cols - 2);
+  }
+
+  /**
+   * Method to get the no. of rows built so far.
+   *
+   * @return the no. of rows built
+   */
+  public int getNoOfRowsBuilt() {
+    return this.noOfRowsBuilt;
+  }
+
+  @Override
+  public void close() {
+    this.spilledRows.close();
+  }
+
+  @Override
+  Location cellAt(int row, int col) {
+    this.buildRowsTo(row);
+
+    return new StreamedLocation(row * this.cols + col);
+  }
+
+  @Override
+  int getNeighbourIndex(int cell, Direction d) {
+    if ((this.getRow(cell).masks[cell % this.cols] & d.getMask()) == 0) {
+      return -1;
+    }
+    return DungeonBuilder.getNeighbour(cell, d, this.rows, this.cols);
+  }
+
+  @Override
+  List<Location> removeMonsterSmell(Location dwelling) {
+    // smells are worked out whenever they are asked for, so this only finds those that changed
+    int[] cells = new int[MAX_NEARBY];
+    int noOfCells = this.searchAround(dwelling.getIndex(), cells, new int[MAX_NEARBY]);
+
+    List<Location> changed = new ArrayList<>();
+    for (int i = 0; i < noOfCells; i++) {
+      if (this.getSmell(cells[i], -1) != this.getSmell(cells[i], dwelling.getIndex())) {
+        changed.add(new StreamedLocation(cells[i]));
+      }
+    }
+
+    return changed;
+  }
+
+  @Override
+  public Location getStart() {
+    return this.cellAt(0, this.startCol);
+  }
+
+  @Override
+  public Location getEnd() {
+    // only compared with other locations while playing, so the last row is built when used
+    return new StreamedLocation((this.rows - 1) * this.cols + this.endCol);
+  }
+
+  @Override
+  public int getNoOfCaves() {
+    this.buildRowsTo(this.rows - 1);
+
+    return this.cavesUpTo[this.rows - 1];
+  }
+
+  @Override
+  public Location getCave(int i) {
+    if (i < 0 || i >= this.getNoOfCaves()) {
+      throw new IllegalArgumentException("i out of bounds for getting cave!");
+    }
+
+    // the first row with more than i caves up to it
+    int low = 0;
+    int high = this.rows - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.cavesUpTo[mid] > i) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+
+    int caveInRow = low == 0 ? i : i - this.cavesUpTo[low - 1];
+    byte[] masks = this.spilledRows.get(low).masks;
+    for (int col = 0; col < this.cols; col++) {
+      if (Integer.bitCount(masks[col]) != 2) {
+        if (caveInRow == 0) {
+          return new StreamedLocation(low * this.cols + col);
+        }
+        caveInRow -= 1;
+      }
+    }
+
+    throw new IllegalStateException("Cave count does not match the rows!");
+  }
+
+  @Override
+  public int getNoOfTunnels() {
+    return this.rows * this.cols - this.getNoOfCaves();
+  }
+
+  private SpilledRows.Row getRow(int cell) {
+    int row = cell / this.cols;
+    this.buildRowsTo(row);
+
+    return this.spilledRows.get(row);
+  }
+
+  private void buildRowsTo(int row) {
+    while (this.noOfRowsBuilt <= row) {
+      this.buildRow();
+    }
+  }
+
+  private void buildRow() {
+    int row = this.noOfRowsBuilt;
+    boolean first = row == 0;
+    boolean last = row == this.rows - 1;
+
+    // the cells above the end go down, so the end can be made a cave within its own row
+    byte[] masks;
+    if (first) {
+      masks = this.mazeRows.nextRow(this.startCol);
+    } else if (row == this.rows - 2) {
+      masks = this.mazeRows.nextRow(this.endCol);
+    } else {
+      masks = this.mazeRows.nextRow();
+    }
+
+    this.pendingPaths += spread(this.interconnectivity, this.rows, row);
+    this.pendingPaths -= this.joinExtraPaths(masks, this.pendingPaths);
+
+    // last, as an extra path can turn a dead end into a tunnel, and built rows never change
+    if (first) {
+      this.makeCave(masks, this.startCol);
+    } else if (last) {
+      this.makeCave(masks, this.endCol);
+    }
+
+    SpilledRows.Row built = this.spilledRows.add(row, masks);
+    this.noOfRowsBuilt += 1;
+
+    int[] caveCols = new int[this.cols];
+    int noOfRowCaves = 0;
+    for (int col = 0; col < this.cols; col++) {
+      if (Integer.bitCount(masks[col]) != 2) {
+        caveCols[noOfRowCaves] = col;
+        noOfRowCaves += 1;
+      }
+    }
+    this.cavesUpTo[row] = (first ? 0 : this.cavesUpTo[row - 1]) + noOfRowCaves;
+
+    this.addTreasure(built, caveCols, noOfRowCaves);
+    this.addArrows(built);
+
+    // the monsters other than the one at the end are spread like the extra paths
+    this.pendingMonsters += spread(this.noOfMonsters - 1, this.rows, row);
+    if (last) {
+      built.monsterHealth[this.endCol] = 1;
+    }
+    this.pendingMonsters -= this.addMonsters(built, caveCols, noOfRowCaves,
+            first ? this.startCol : -1, last ? this.endCol : -1, this.pendingMonsters);
+  }
+
+  /*
+   * A cell of the first or last row joined down or up, away from the edges of the row, has
+   * 3 potential paths. If it has exactly 2, the path left out is along the row.
+   */
+  private void makeCave(byte[] masks, int col) {
+    if (Integer.bitCount(masks[col]) != 2) {
+      return;
+    }
+
+    if ((masks[col] & Direction.EAST.getMask()) == 0) {
+      this.joinEast(masks, col);
+    } else {
+      this.joinEast(masks, (col - 1 + this.cols) % this.cols);
+    }
+  }
+
+  private void joinEast(byte[] masks, int col) {
+    masks[col] |= Direction.EAST.getMask();
+    masks[(col + 1) % this.cols] |= Direction.WEST.getMask();
+  }
+
+  private int joinExtraPaths(byte[] masks, int count) {
+    int noOfPairs = this.wrapCols ? this.cols : this.cols - 1;
+    PartialShuffle pairs = new PartialShuffle(noOfPairs, this.rand);
+
+    int joined = 0;
+    while (joined < count && pairs.hasNext()) {
+      int col = pairs.next();
+
+      if ((masks[col] & Direction.EAST.getMask()) == 0) {
+        this.joinEast(masks, col);
+        joined += 1;
+      }
+    }
+
+    return joined;
+  }
+
+  private void addTreasure(SpilledRows.Row row, int[] caveCols, int noOfRowCaves) {
+    int noOfTreasureCaves = (int) Math.ceil((this.treasurePct / 100.0) * noOfRowCaves);
+    PartialShuffle caves = new PartialShuffle(noOfRowCaves, this.rand);
+
+    for (int i = 0; i < noOfTreasureCaves; i++) {
+      int col = caveCols[caves.next()];
+      int slot = MutableLocation.getItemSlot(TREASURES[this.rand.nextInt(TREASURES.length)]);
+
+      row.itemCounts[col * ITEMS.length + slot] += 1;
+    }
+  }
+
+  private void addArrows(SpilledRows.Row row) {
+    int noOfArrowLocations = (int) Math.ceil((this.treasurePct / 100.0) * this.cols);
+    PartialShuffle locations = new PartialShuffle(this.cols, this.rand);
+    int slot = MutableLocation.getItemSlot(Weapon.ARROW);
+
+    for (int i = 0; i < noOfArrowLocations; i++) {
+      int col = locations.next();
+
+      row.itemCounts[col * ITEMS.length + slot] += this.rand.nextInt(3) + 1;
+    }
+  }
+
+  private int addMonsters(SpilledRows.Row row, int[] caveCols, int noOfRowCaves,
+                          int startCol, int endCol, int count) {
+    PartialShuffle caves = new PartialShuffle(noOfRowCaves, this.rand);
+
+    int added = 0;
+    while (added < count && caves.hasNext()) {
+      int col = caveCols[caves.next()];
+
+      if (col != startCol && col != endCol) {
+        row.monsterHealth[col] = 1;
+        added += 1;
+      }
+    }
+
+    return added;
+  }
+
+  /*
+   * The k things spread over the rows go in the rows i * rows / (k + 1) for i from 1 to k,
+   * so this counts the i with row <= i * rows / (k + 1) < row + 1.
+   */
+  private static int spread(int k, int rows, int row) {
+    return countBefore(k, rows, row + 1) - countBefore(k, rows, row);
+  }
+
+  // the no. of i from 1 to k with i * rows / (k + 1) < row, that is i * rows < row * (k + 1)
+  private static int countBefore(int k, int rows, int row) {
+    long bound = (long) row * (k + 1);
+    return (int) Math.min(k, Math.max(0, (bound + rows - 1) / rows - 1));
+  }
+
+  /*
+   * The smell at a location comes from the living monsters at a distance of 1 or 2. The
+   * monster in 'deadCell', if any, is counted as living, to find the smell before it died.
+   */
+  private Smell getSmell(int index, int deadCell) {
+    int[] cells = new int[MAX_NEARBY];
+    int[] distances = new int[MAX_NEARBY];
+    int noOfCells = this.searchAround(index, cells, distances);
+
+    int near = 0;
+    int around = 0;
+    for (int i = 0; i < noOfCells; i++) {
+      if (cells[i] == deadCell || this.hasLivingMonster(cells[i])) {
+        around += 1;
+        if (distances[i] <= 1) {
+          near += 1;
+        }
+      }
+    }
+
+    return smellOf(near, around);
+  }
+
+  private boolean hasLivingMonster(int cell) {
+    int health = this.getRow(cell).monsterHealth[cell % this.cols];
+
+    // a monster is alive until it takes 2 hits
+    return health != 0 && health - 1 < 2;
+  }
+
+  /**
+   * This class represents a view of one location of the dungeon, building its row if needed.
+   */
+  private class StreamedLocation extends MutableLocation {
+    private final int index;
+
+    private StreamedLocation(int index) {
+      this.index = index;
+    }
+
+    private SpilledRows.Row row() {
+      return getRow(this.index);
+    }
+
+    private int col() {
+      return this.index % cols;
+    }
+
+    @Override
+    void fill(Item item) {
+      int itemSlot = getItemSlot(item);
+      if (itemSlot < 0) {
+        throw new IllegalArgumentException("Unknown item " + item);
+      }
+
+      SpilledRows.Row row = this.row();
+      int slot = this.col() * ITEMS.length + itemSlot;
+      if (row.itemCounts[slot] == Short.MAX_VALUE) {
+        throw new IllegalStateException("Cannot put more " + item.getName() + " in location!");
+      }
+      row.itemCounts[slot] += 1;
+    }
+
+    @Override
+    void pop(Item item, int count) {
+      int itemSlot = getItemSlot(item);
+      if (itemSlot >= 0) {
+        SpilledRows.Row row = this.row();
+        int slot = this.col() * ITEMS.length + itemSlot;
+        row.itemCounts[slot] -= Math.min(count, row.itemCounts[slot]);
+      }
+    }
+
+    @Override
+    void putMonster(Monster monster) throws IllegalStateException {
+      if (this.hasMonster()) {
+        throw new IllegalStateException("Attempting to add monster to an already occupied cave!");
+      }
+      this.row().monsterHealth[this.col()] = (byte) (1 + monster.getHitsTaken());
+    }
+
+    @Override
+    void updateSmell(Smell smell) {
+      // smells are worked out whenever they are asked for
+    }
+
+    @Override
+    void markVisited() {
+      this.row().visited[this.col()] = 1;
+    }
+
+    @Override
+    public int[] getCoordinates() {
+      return new int[]{this.index / cols, this.col()};
+    }
+
+    @Override
+    public int getIndex() {
+      return this.index;
+    }
+
+    @Override
+    public Set<Direction> getPossibleDirections() {
+      Set<Direction> possibleDirections = EnumSet.noneOf(Direction.class);
+
+      for (Direction d : DIRECTIONS) {
+        if ((this.getDirectionMask() & d.getMask()) != 0) {
+          possibleDirections.add(d);
+        }
+      }
+
+      return possibleDirections;
+    }
+
+    @Override
+    public int getDirectionMask() {
+      return this.row().masks[this.col()];
+    }
+
+    @Override
+    public int[] getNeighbour(Direction d) {
+      int neighbour = this.getNeighbourIndex(d);
+
+      if (neighbour < 0) {
+        throw new IllegalArgumentException("No neighbour in the " + d + " direction!");
+      }
+
+      return new int[]{neighbour / cols, neighbour % cols};
+    }
+
+    @Override
+    public int getNeighbourIndex(Direction d) {
+      if (d == null) {
+        throw new IllegalArgumentException("Given neighbour direction is null!");
+      }
+
+      return StreamedDungeon.this.getNeighbourIndex(this.index, d);
+    }
+
+    @Override
+    public List<Item> getContent() {
+      List<Item> content = new ArrayList<>();
+
+      for (Item item : ITEMS) {
+        for (int i = 0; i < this.itemCount(item); i++) {
+          content.add(item);
+        }
+      }
+
+      return content;
+    }
+
+    @Override
+    public int itemCount(Item item) {
+      int itemSlot = getItemSlot(item);
+
+      return itemSlot < 0 ? 0 : this.row().itemCounts[this.col() * ITEMS.length + itemSlot];
+    }
+
+    @Override
+    public boolean hasMonster() {
+      return this.row().monsterHealth[this.col()] != 0;
+    }
+
+    @Override
+    public Monster getMonster() throws IllegalStateException {
+      if (!this.hasMonster()) {
+        throw new IllegalStateException("No monster present!");
+      }
+
+      return new StreamedOtyugh(this);
+    }
+
+    @Override
+    public Smell getSmell() {
+      return StreamedDungeon.this.getSmell(this.index, -1);
+    }
+
+    @Override
+    public boolean isCave() {
+      return Integer.bitCount(this.getDirectionMask()) != 2;
+    }
+
+    @Override
+    public boolean isVisited() {
+      return this.row().visited[this.col()] != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof StreamedLocation)) {
+        return false;
+      }
+
+      StreamedLocation that = (StreamedLocation) o;
+
+      return this.dungeon() == that.dungeon() && this.index == that.index;
+    }
+
+    @Override
+    public int hashCode() {
+      return Integer.hashCode(this.index);
+    }
+
+    private StreamedDungeon dungeon() {
+      return StreamedDungeon.this;
+    }
+  }
+
+  /**
+   * This class represents a view of the Otyugh dwelling in one location of the dungeon.
+   */
+  private class StreamedOtyugh extends Otyugh {
+    private final StreamedLocation dwelling;
+
+    private StreamedOtyugh(StreamedLocation dwellLocation) {
+      super(dwellLocation);
+      this.dwelling = dwellLocation;
+    }
+
+    @Override
+    void takeHit() {
+      SpilledRows.Row row = this.dwelling.row();
+      if (row.monsterHealth[this.dwelling.col()] < Byte.MAX_VALUE) {
+        row.monsterHealth[this.dwelling.col()] += 1;
+      }
+    }
+
+    @Override
+    public int getHitsTaken() {
+      return this.dwelling.row().monsterHealth[this.dwelling.col()] - 1;
+    }
+  }
+}
@@ -22,7 +22,12 @@ public enum Treasure implements Item {
 
   @Override
   public void pick(Player player) {
-    player.pickTreasure(this);
+    this.pick(player, 1);
+  }
+
+  @Override
+  public void pick(Player player, int count) {
+    player.pickTreasure(this, count);
   }
 }
 
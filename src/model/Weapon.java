@@ -20,6 +20,11 @@ public enum Weapon implements Item {
 
   @Override
   public void pick(Player player) {
-    player.pickArrow(this);
+    this.pick(player, 1);
+  }
+
+  @Override
+  public void pick(Player player, int count) {
+    player.pickArrow(this, count);
   }
 }
@@ -0,0 +1,69 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * This class represents Wilson's algorithm. Starting from a maze of one random cell, a random
+ * walk starts from every cell not in the maze yet and goes on until it reaches the maze. Only
+ * the last exit taken from each cell on the walk is remembered, which erases the loops of the
+ * walk, and the remaining walk is joined to the maze.
+ *
+ * <p>Every perfect maze of the grid is equally likely. The walks take more steps than there
+ * are cells, the steps erased are recorded as retries.
+ */
+class WilsonGenerator implements MazeGenerator {
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  @Override
+  public RandomBag carve(DungeonBuilder builder, PhaseProgress progress, Random rand) {
+    int size = builder.getRows() * builder.getCols();
+
+    boolean[] inMaze = new boolean[size];
+    // the direction of the last exit taken from each cell by the current walk
+    byte[] exits = new byte[size];
+    Direction[] open = new Direction[DIRECTIONS.length];
+
+    inMaze[rand.nextInt(size)] = true;
+    int noOfJoined = 1;
+
+    for (int start = 0; start < size; start++) {
+      // walk until the maze is reached
+      int cell = start;
+      int steps = 0;
+      while (!inMaze[cell]) {
+        int noOfOpen = 0;
+        for (Direction d : DIRECTIONS) {
+          if (builder.getNeighbour(cell, d) >= 0) {
+            open[noOfOpen] = d;
+            noOfOpen += 1;
+          }
+        }
+
+        Direction exit = open[rand.nextInt(noOfOpen)];
+        exits[cell] = (byte) exit.ordinal();
+        cell = builder.getNeighbour(cell, exit);
+        steps += 1;
+      }
+
+      // join the walk without its loops
+      cell = start;
+      while (!inMaze[cell]) {
+        Direction exit = DIRECTIONS[exits[cell]];
+
+        inMaze[cell] = true;
+        builder.join(builder.getPath(cell, exit));
+        cell = builder.getNeighbour(cell, exit);
+
+        noOfJoined += 1;
+        steps -= 1;
+      }
+
+      for (int i = 0; i < steps; i++) {
+        builder.recordRetry();
+      }
+      progress.update(noOfJoined);
+    }
+
+    return builder.getUnjoinedPaths();
+  }
+}
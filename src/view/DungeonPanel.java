@@ -1,46 +1,144 @@
 package view;
 
-import java.awt.Component;
-import java.awt.GridLayout;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.MouseAdapter;
 import javax.swing.JPanel;
 
 import controller.GuiGameFeatures;
+import model.IPlayer;
 import model.Location;
 import model.ReadonlyGameModel;
 
 /**
  * This class represents a custom JPanel containing the dungeon adventure game map.
- * It uses grid layout with each grid location having another custom JPanel
- * representing a dungeon location. This class also adds mouse listener to all the grid locations.
+ * It draws every dungeon location itself as a tile of a grid, only painting the tiles that
+ * are visible, so it can be placed in a scroll pane even for very large dungeons.
+ * This class also maps mouse clicks on the map to the dungeon locations.
  */
 class DungeonPanel extends JPanel {
+  // the preferred size of a location tile, tiles are stretched if the panel is larger
+  private static final int TILE_SIZE = 100;
+  // enough for every look of a location at a couple of sizes
+  private static final int TILE_CACHE_SIZE = 512;
+
   private final ReadonlyGameModel model;
+  private final TileCache tiles;
+  private final int rows;
+  private final int cols;
 
   public DungeonPanel(ReadonlyGameModel m) {
     this.model = m;
 
-    Location[][] dungeon = this.model.getDungeon().getDungeonGrid();
+    this.rows = this.model.getDungeon().getNoOfRows();
+    this.cols = this.model.getDungeon().getNoOfColumns();
 
-    this.setLayout(new GridLayout(dungeon.length, dungeon[0].length, 0, 0));
+    this.tiles = new TileCache(TILE_CACHE_SIZE);
+    this.setPreferredSize(new Dimension(this.cols * TILE_SIZE, this.rows * TILE_SIZE));
+  }
 
-    for (int row = 0; row < dungeon.length; row++) {
-      for (int col = 0; col < dungeon[0].length; col++) {
-        JPanel panel = new GridPanel(this.model, row, col);
-        this.add(panel);
-      }
-    }
+  int getRows() {
+    return this.rows;
+  }
+
+  int getCols() {
+    return this.cols;
   }
 
   void addMouseListener(GuiGameFeatures f) {
     // create mouse adapter
     MouseAdapter clickAdapter = new GameMouseAdapter(f, this.model);
 
-    for (Component c : this.getComponents()) {
-      if (c instanceof GridPanel) {
-        GridPanel p = (GridPanel) c;
-        p.addMouseListener(clickAdapter);
+    this.addMouseListener(clickAdapter);
+  }
+
+  /**
+   * Method to get the dungeon location drawn at the given point of the panel.
+   *
+   * @param p the point in the panel co-ordinates
+   * @return the row and the column of the location, or null if the point is outside the map
+   */
+  int[] getCellAt(Point p) {
+    if (p.x < 0 || p.y < 0 || p.x >= this.getWidth() || p.y >= this.getHeight()) {
+      return null;
+    }
+
+    return new int[]{(int) ((long) p.y * this.rows / this.getHeight()),
+        (int) ((long) p.x * this.cols / this.getWidth())};
+  }
+
+  /**
+   * Method to repaint just the tile of the given location.
+   *
+   * @param loc the location whose tile changed
+   */
+  void repaintLocation(Location loc) {
+    int width = this.getWidth();
+    int height = this.getHeight();
+    int row = loc.getIndex() / this.cols;
+    int col = loc.getIndex() % this.cols;
+
+    int top = this.getTileEdge(row, this.rows, height);
+    int left = this.getTileEdge(col, this.cols, width);
+    this.repaint(left, top, this.getTileEdge(col + 1, this.cols, width) - left,
+            this.getTileEdge(row + 1, this.rows, height) - top);
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+
+    int width = this.getWidth();
+    int height = this.getHeight();
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+
+    IPlayer player = this.model.getPlayer();
+    int playerIndex = player.isAlive() ? player.getCurrentLocation().getIndex() : -1;
+
+    // only the tiles overlapping the clip need to be drawn
+    Rectangle clip = g.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, width, height);
+    }
+    int firstRow = this.getRowAt(Math.max(clip.y, 0), height);
+    int lastRow = this.getRowAt(Math.min(clip.y + clip.height, height) - 1, height);
+    int firstCol = this.getColAt(Math.max(clip.x, 0), width);
+    int lastCol = this.getColAt(Math.min(clip.x + clip.width, width) - 1, width);
+
+    for (int row = firstRow; row <= lastRow; row++) {
+      int top = this.getTileEdge(row, this.rows, height);
+      int bottom = this.getTileEdge(row + 1, this.rows, height);
+
+      for (int col = firstCol; col <= lastCol; col++) {
+        int left = this.getTileEdge(col, this.cols, width);
+        int right = this.getTileEdge(col + 1, this.cols, width);
+        if (right <= left || bottom <= top) {
+          continue;
+        }
+
+        Location loc = this.model.getDungeon().getLocation(row, col);
+        Image image = this.tiles.getTile(loc, loc.getIndex() == playerIndex,
+                right - left, bottom - top);
+        g.drawImage(image, left, top, null);
       }
     }
   }
+
+  private int getRowAt(int y, int height) {
+    return Math.max(0, Math.min(this.rows - 1, (int) ((long) y * this.rows / height)));
+  }
+
+  private int getColAt(int x, int width) {
+    return Math.max(0, Math.min(this.cols - 1, (int) ((long) x * this.cols / width)));
+  }
+
+  private int getTileEdge(int tile, int tiles, int length) {
+    // rounds up, so that the tile at a pixel is the tile whose edges surround it
+    return (int) (((long) tile * length + tiles - 1) / tiles);
+  }
 }
@@ -30,9 +30,12 @@ class GameMouseAdapter extends MouseAdapter {
   public void mouseClicked(MouseEvent e) {
     super.mouseClicked(e);
 
-    GridPanel gp = (GridPanel) e.getComponent();
-    int clickedX = gp.getRow();
-    int clickedY = gp.getCol();
+    int[] clicked = ((DungeonPanel) e.getComponent()).getCellAt(e.getPoint());
+    if (clicked == null) {
+      return;
+    }
+    int clickedX = clicked[0];
+    int clickedY = clicked[1];
 
     int[] coord = this.model.getPlayer().getCurrentLocation().getCoordinates();
     int playerX = coord[0];
@@ -21,6 +21,13 @@ public interface GameView {
    */
   void resetFocus();
 
+  /**
+   * Method to show or hide the view, keeping it so it can be shown again.
+   *
+   * @param visible true to show the view, false to hide it
+   */
+  void setVisible(boolean visible);
+
   /**
    * Method to destroy a view by setting it invisible and disposing it off.
    */
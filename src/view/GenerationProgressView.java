@@ -0,0 +1,83 @@
+package view;
+
+import javax.swing.ProgressMonitor;
+
+import model.GenerationPhase;
+
+/**
+ * This class represents a dialog showing the progress of generating a new game dungeon, with a
+ * button to cancel the generation. The dialog only pops up if the generation takes a while, so
+ * small dungeons are started without it. It should only be used on the event dispatch thread.
+ */
+public class GenerationProgressView {
+  // the share of the progress bar given to each generation phase, in percent
+  private static final int PATHS_END = 60;
+  private static final int START_END_END = 90;
+  private static final int POPUP_DELAY = 200;
+
+  private final ProgressMonitor monitor;
+
+  /**
+   * Constructor for the progress dialog of generating a new game dungeon.
+   */
+  public GenerationProgressView() {
+    this.monitor = new ProgressMonitor(null, "Generating the dungeon...",
+            getNote(GenerationPhase.PATHS), 0, 100);
+    this.monitor.setMillisToDecideToPopup(POPUP_DELAY);
+    this.monitor.setMillisToPopup(POPUP_DELAY);
+  }
+
+  /**
+   * Method to show the progress of a generation phase.
+   *
+   * @param phase the running phase
+   * @param done  the amount of work done in the phase
+   * @param total the total amount of work in the phase
+   */
+  public void setProgress(GenerationPhase phase, int done, int total) {
+    int from;
+    int to;
+    if (phase == GenerationPhase.PATHS) {
+      from = 0;
+      to = PATHS_END;
+    } else if (phase == GenerationPhase.START_END) {
+      from = PATHS_END;
+      to = START_END_END;
+    } else {
+      from = START_END_END;
+      to = 100;
+    }
+
+    int share = total <= 0 ? 0 : (int) ((long) done * (to - from) / total);
+
+    this.monitor.setNote(getNote(phase));
+    // the dialog closes itself once the maximum is set, that is left to close()
+    this.monitor.setProgress(Math.min(99, from + share));
+  }
+
+  /**
+   * Method to check if the cancel button was pressed.
+   *
+   * @return true if the generation was cancelled, false otherwise
+   */
+  public boolean isCancelled() {
+    return this.monitor.isCanceled();
+  }
+
+  /**
+   * Method to close the dialog.
+   */
+  public void close() {
+    this.monitor.close();
+  }
+
+  private static String getNote(GenerationPhase phase) {
+    if (phase == GenerationPhase.PATHS) {
+      return "Carving paths";
+    } else if (phase == GenerationPhase.START_END) {
+      return "Finding start and end caves";
+    } else {
+      return "Filling caves";
+    }
+  }
+}
@@ -1,14 +1,12 @@
 package view;
 
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Objects;
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -18,10 +16,13 @@ import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.OverlayLayout;
 import javax.swing.WindowConstants;
 
 import controller.GuiGameController;
 import controller.GuiGameFeatures;
+import model.GameChangeListener;
+import model.Location;
 import model.ReadonlyGameModel;
 
 /**
@@ -37,6 +38,9 @@ public class GuiGameView extends JFrame implements GameView {
   private final JMenuItem m3;
 
   private final DungeonPanel dungeonPanel;
+  private final MinimapPanel minimap;
+  private final InfoPanel infoPanel;
+  private final GameChangeListener changeListener;
 
   /**
    * Constructor for GUI based view for the dungeon adventure game that takes in read-only model.
@@ -95,12 +99,41 @@ public class GuiGameView extends JFrame implements GameView {
     scrollablePanel.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
     // scrollablePanel.setPreferredSize(new Dimension(this.getWidth(),
     //                                (int) (0.8 * this.getHeight())));
-    this.getContentPane().add(scrollablePanel, BorderLayout.CENTER);
+
+    // small map of the whole dungeon over the top right corner of the dungeon map
+    this.minimap = new MinimapPanel(rom, this.dungeonPanel);
+    this.minimap.setAlignmentX(Component.RIGHT_ALIGNMENT);
+    this.minimap.setAlignmentY(Component.TOP_ALIGNMENT);
+    scrollablePanel.setAlignmentX(Component.RIGHT_ALIGNMENT);
+    scrollablePanel.setAlignmentY(Component.TOP_ALIGNMENT);
+    scrollablePanel.getViewport().addChangeListener(l -> this.minimap.repaint());
+
+    JPanel mapPanel = new JPanel() {
+      @Override
+      public boolean isOptimizedDrawingEnabled() {
+        // the small map overlaps the dungeon map
+        return false;
+      }
+    };
+    mapPanel.setLayout(new OverlayLayout(mapPanel));
+    mapPanel.add(this.minimap);
+    mapPanel.add(scrollablePanel);
+    this.getContentPane().add(mapPanel, BorderLayout.CENTER);
 
     // information panel for player and location details
-    InfoPanel infoPanel = new InfoPanel(rom);
+    this.infoPanel = new InfoPanel(rom);
     // infoPanel.setPreferredSize(new Dimension(this.getWidth(), (int) (0.1 * this.getHeight())));
-    this.getContentPane().add(infoPanel, BorderLayout.SOUTH);
+    this.getContentPane().add(this.infoPanel, BorderLayout.SOUTH);
+
+    // only the locations changed by the model are repainted
+    this.changeListener = changed -> {
+      for (Location loc : changed) {
+        this.dungeonPanel.repaintLocation(loc);
+      }
+      this.minimap.update(changed);
+      this.infoPanel.update();
+    };
+    rom.addChangeListener(this.changeListener);
 
     // System.out.println(rom.getGameState());
   }
@@ -125,13 +158,16 @@ public class GuiGameView extends JFrame implements GameView {
 
   @Override
   public void delete() {
+    // the model may outlive the view, e.g. in the tests of the controller
+    this.m.removeChangeListener(this.changeListener);
     this.setVisible(false);
     this.dispose();
   }
 
   @Override
   public void refresh() {
-    this.repaint();
+    // the dungeon map repaints the locations changed by the model as it is told about them
+    this.infoPanel.update();
   }
 
   @Override
@@ -224,17 +260,8 @@ public class GuiGameView extends JFrame implements GameView {
 
 
   private JLabel createInfoJLabel(ImageCategory item, String key) {
-    ImageIcon icon;
-
-    try {
-      InputStream imageStream = getClass().getResourceAsStream(item.getFilePath());
-      icon = new ImageIcon(ImageIO.read(imageStream));
-    } catch (IOException ioe) {
-      throw new IllegalStateException("Cannot find icon location image!");
-    }
-
     JLabel thumbnail = new JLabel();
-    thumbnail.setIcon(icon);
+    thumbnail.setIcon(new ImageIcon(SpriteAtlas.getImage(item)));
     thumbnail.setText(" " + key + " ");
 
     return thumbnail;
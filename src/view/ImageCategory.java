@@ -1,5 +1,7 @@
 package view;
 
+import model.Direction;
+
 /**
  * This enum class represents the type of visual artifacts that can be used to
  * make the dungeon adventure game GUI.
@@ -30,6 +32,35 @@ enum ImageCategory {
   CAVE_MULTI_NESW("/assets/ENSW.png"),
   BLANK("/assets/blank.png");
 
+  // the location tile for every direction mask, named after its directions, e.g. "ENS"
+  private static final ImageCategory[] TILES = new ImageCategory[16];
+
+  static {
+    for (ImageCategory ic : values()) {
+      String name = ic.filePath.substring("/assets/".length(), ic.filePath.length() - 4);
+      int mask = 0;
+
+      for (char c : name.toCharArray()) {
+        int bit = 0;
+        for (Direction d : Direction.values()) {
+          if (d.toString().charAt(0) == c) {
+            bit = d.getMask();
+          }
+        }
+
+        if (bit == 0) {
+          mask = 0;
+          break;
+        }
+        mask |= bit;
+      }
+
+      if (mask != 0 && TILES[mask] == null) {
+        TILES[mask] = ic;
+      }
+    }
+  }
+
   private final String filePath;
 
   ImageCategory(String fp) {
@@ -39,4 +70,19 @@ enum ImageCategory {
   String getFilePath() {
     return this.filePath;
   }
+
+  /**
+   * Method to get the tile of a location having the given possible directions.
+   *
+   * @param directionMask the possible directions as a mask of {@link Direction#getMask()} bits
+   * @return the location tile
+   * @throws IllegalArgumentException if no location has the given directions
+   */
+  static ImageCategory getTile(int directionMask) throws IllegalArgumentException {
+    if (directionMask <= 0 || directionMask >= TILES.length) {
+      throw new IllegalArgumentException("No tile for direction mask " + directionMask + "!");
+    }
+
+    return TILES[directionMask];
+  }
 }
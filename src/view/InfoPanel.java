@@ -10,6 +10,8 @@ import model.ReadonlyGameModel;
  * bottom panel of the game GUI.
  */
 class InfoPanel extends JPanel {
+  private final PlayerInfoPanel playerInfo;
+  private final LocationInfoPanel locationInfo;
 
   /**
    * Constructor for creating bottom panel having game information.
@@ -18,7 +20,18 @@ class InfoPanel extends JPanel {
    */
   public InfoPanel(ReadonlyGameModel rom) {
     this.setLayout(new BorderLayout());
-    this.add(new PlayerInfoPanel(rom), BorderLayout.WEST);
-    this.add(new LocationInfoPanel(rom), BorderLayout.EAST);
+
+    this.playerInfo = new PlayerInfoPanel(rom);
+    this.add(this.playerInfo, BorderLayout.WEST);
+    this.locationInfo = new LocationInfoPanel(rom);
+    this.add(this.locationInfo, BorderLayout.EAST);
+  }
+
+  /**
+   * Method to show the current state of the player and its location.
+   */
+  void update() {
+    this.playerInfo.update();
+    this.locationInfo.update();
   }
 }
@@ -1,17 +1,11 @@
 package view;
 
 import java.awt.FlowLayout;
-import java.awt.Graphics;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Collections;
-import java.util.List;
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
-import model.Item;
+import model.Location;
 import model.ReadonlyGameModel;
 import model.Treasure;
 import model.Weapon;
@@ -36,53 +30,39 @@ class LocationInfoPanel extends JPanel {
   public LocationInfoPanel(ReadonlyGameModel m) {
     this.model = m;
 
-    List<Item> content = this.model.getPlayer().getCurrentLocation().getContent();
+    Location location = this.model.getPlayer().getCurrentLocation();
 
     this.setLayout(new FlowLayout());
 
     JLabel playerLabel = new JLabel(" Location :");
     this.add(playerLabel);
 
-    diamond = createInfoJLabel(ImageCategory.DIAMOND,
-            Collections.frequency(content, Treasure.DIAMOND));
+    diamond = createInfoJLabel(ImageCategory.DIAMOND, location.itemCount(Treasure.DIAMOND));
     this.add(diamond);
-    ruby = createInfoJLabel(ImageCategory.RUBY,
-            Collections.frequency(content, Treasure.RUBY));
+    ruby = createInfoJLabel(ImageCategory.RUBY, location.itemCount(Treasure.RUBY));
     this.add(ruby);
-    sapphire = createInfoJLabel(ImageCategory.SAPPHIRE,
-            Collections.frequency(content, Treasure.SAPPHIRE));
+    sapphire = createInfoJLabel(ImageCategory.SAPPHIRE, location.itemCount(Treasure.SAPPHIRE));
     this.add(sapphire);
-    arrow = createInfoJLabel(ImageCategory.ARROW,
-            Collections.frequency(content, Weapon.ARROW));
+    arrow = createInfoJLabel(ImageCategory.ARROW, location.itemCount(Weapon.ARROW));
     this.add(arrow);
   }
 
-  @Override
-  protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
-
-    List<Item> content = this.model.getPlayer().getCurrentLocation().getContent();
-
-    diamond.setText(String.valueOf(Collections.frequency(content, Treasure.DIAMOND)));
-    ruby.setText(String.valueOf(Collections.frequency(content, Treasure.RUBY)));
-    sapphire.setText(String.valueOf(Collections.frequency(content, Treasure.SAPPHIRE)));
-    arrow.setText(String.valueOf(Collections.frequency(content, Weapon.ARROW)));
+  /**
+   * Method to show the current contents of the player's location. It is called when the model
+   * changes, never while painting, since changing the labels can cause a layout pass.
+   */
+  void update() {
+    Location location = this.model.getPlayer().getCurrentLocation();
 
-    this.validate();
+    diamond.setText(String.valueOf(location.itemCount(Treasure.DIAMOND)));
+    ruby.setText(String.valueOf(location.itemCount(Treasure.RUBY)));
+    sapphire.setText(String.valueOf(location.itemCount(Treasure.SAPPHIRE)));
+    arrow.setText(String.valueOf(location.itemCount(Weapon.ARROW)));
   }
 
   private JLabel createInfoJLabel(ImageCategory item, int count) {
-    ImageIcon icon;
-
-    try {
-      InputStream imageStream = getClass().getResourceAsStream(item.getFilePath());
-      icon = new ImageIcon(ImageIO.read(imageStream));
-    } catch (IOException ioe) {
-      throw new IllegalStateException("Cannot find icon location image!");
-    }
-
     JLabel thumbnail = new JLabel();
-    thumbnail.setIcon(icon);
+    thumbnail.setIcon(new ImageIcon(SpriteAtlas.getImage(item)));
     thumbnail.setText(" " + count + " ");
 
     return thumbnail;
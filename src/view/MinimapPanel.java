@@ -0,0 +1,140 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.List;
+import javax.swing.JPanel;
+
+import model.Location;
+import model.ReadonlyGameModel;
+
+/**
+ * This class represents a small map of the whole dungeon, showing the locations visited so far,
+ * the player and the part of the dungeon shown by the dungeon panel. The locations are drawn
+ * into an offscreen image once, when they are first visited, so painting the small map only
+ * copies that image, however large the dungeon is.
+ * Clicking on the small map scrolls the dungeon panel to that part of the dungeon.
+ */
+class MinimapPanel extends JPanel {
+  // the small map is at most about this wide and high, unless that is less than a pixel per cell
+  private static final int TARGET_SIZE = 200;
+  private static final int MAX_CELL_SIZE = 4;
+
+  private static final Color UNVISITED = new Color(0, 0, 0, 160);
+  private static final Color CAVE = new Color(200, 200, 200);
+  private static final Color TUNNEL = new Color(130, 130, 130);
+  private static final Color PLAYER = Color.RED;
+  private static final Color VIEW = Color.YELLOW;
+
+  private final ReadonlyGameModel model;
+  private final DungeonPanel dungeonPanel;
+  private final int rows;
+  private final int cols;
+  private final int cellSize;
+  private final BufferedImage map;
+  private final BitSet drawn;
+
+  /**
+   * Constructor for the small map of the dungeon shown by the given dungeon panel.
+   *
+   * @param m            the read-only model
+   * @param dungeonPanel the dungeon panel, scrolled when the small map is clicked
+   */
+  public MinimapPanel(ReadonlyGameModel m, DungeonPanel dungeonPanel) {
+    this.model = m;
+    this.dungeonPanel = dungeonPanel;
+    this.rows = dungeonPanel.getRows();
+    this.cols = dungeonPanel.getCols();
+    this.cellSize = Math.max(1, Math.min(MAX_CELL_SIZE, TARGET_SIZE / Math.max(rows, cols)));
+
+    this.map = new BufferedImage(cols * this.cellSize, rows * this.cellSize,
+            BufferedImage.TYPE_INT_ARGB);
+    this.drawn = new BitSet(rows * cols);
+
+    Graphics g = this.map.createGraphics();
+    g.setColor(UNVISITED);
+    g.fillRect(0, 0, this.map.getWidth(), this.map.getHeight());
+    g.dispose();
+
+    // a new game can only have the start visited
+    this.drawLocation(this.model.getGameStart());
+
+    Dimension size = new Dimension(this.map.getWidth(), this.map.getHeight());
+    this.setPreferredSize(size);
+    this.setMaximumSize(size);
+    this.setOpaque(false);
+
+    this.addMouseListener(new MouseAdapter() {
+      @Override
+      public void mousePressed(MouseEvent e) {
+        scrollDungeonTo(e.getX(), e.getY());
+      }
+    });
+  }
+
+  /**
+   * Method to draw the locations visited since they were last drawn.
+   *
+   * @param changed the locations changed in the model
+   */
+  void update(List<Location> changed) {
+    for (Location loc : changed) {
+      if (loc.isVisited() && !this.drawn.get(loc.getIndex())) {
+        this.drawLocation(loc);
+      }
+    }
+
+    // the player and the view rectangle are drawn over the map on every paint
+    this.repaint();
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+
+    g.drawImage(this.map, 0, 0, null);
+
+    Location playerLocation = this.model.getPlayer().getCurrentLocation();
+    g.setColor(PLAYER);
+    g.fillRect(playerLocation.getIndex() % this.cols * this.cellSize,
+            playerLocation.getIndex() / this.cols * this.cellSize,
+            Math.max(2, this.cellSize), Math.max(2, this.cellSize));
+
+    // the part of the dungeon shown by the dungeon panel
+    Rectangle visible = this.dungeonPanel.getVisibleRect();
+    int panelWidth = Math.max(1, this.dungeonPanel.getWidth());
+    int panelHeight = Math.max(1, this.dungeonPanel.getHeight());
+    g.setColor(VIEW);
+    g.drawRect((int) ((long) visible.x * this.map.getWidth() / panelWidth),
+            (int) ((long) visible.y * this.map.getHeight() / panelHeight),
+            (int) ((long) visible.width * this.map.getWidth() / panelWidth) - 1,
+            (int) ((long) visible.height * this.map.getHeight() / panelHeight) - 1);
+  }
+
+  private void drawLocation(Location loc) {
+    int index = loc.getIndex();
+
+    Graphics g = this.map.createGraphics();
+    g.setColor(loc.isCave() ? CAVE : TUNNEL);
+    g.fillRect(index % this.cols * this.cellSize, index / this.cols * this.cellSize,
+            this.cellSize, this.cellSize);
+    g.dispose();
+
+    this.drawn.set(index);
+  }
+
+  private void scrollDungeonTo(int x, int y) {
+    Rectangle visible = this.dungeonPanel.getVisibleRect();
+    int centerX = (int) ((long) x * this.dungeonPanel.getWidth() / this.map.getWidth());
+    int centerY = (int) ((long) y * this.dungeonPanel.getHeight() / this.map.getHeight());
+
+    this.dungeonPanel.scrollRectToVisible(new Rectangle(centerX - visible.width / 2,
+            centerY - visible.height / 2, visible.width, visible.height));
+  }
+}
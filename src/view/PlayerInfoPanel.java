@@ -1,11 +1,7 @@
 package view;
 
 import java.awt.FlowLayout;
-import java.awt.Graphics;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Map;
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -53,10 +49,11 @@ class PlayerInfoPanel extends JPanel {
     this.add(arrow);
   }
 
-  @Override
-  protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
-
+  /**
+   * Method to show the current possessions of the player. It is called when the model
+   * changes, never while painting, since changing the labels can cause a layout pass.
+   */
+  void update() {
     Map<Treasure, Integer> possession = this.model.getPlayer().getTreasureCollected();
     int arrows = this.model.getPlayer().getArrowsLeft();
 
@@ -64,22 +61,11 @@ class PlayerInfoPanel extends JPanel {
     ruby.setText(String.valueOf(possession.getOrDefault(Treasure.RUBY, 0)));
     sapphire.setText(String.valueOf(possession.getOrDefault(Treasure.SAPPHIRE, 0)));
     arrow.setText(String.valueOf(arrows));
-
-    this.validate();
   }
 
   private JLabel createInfoJLabel(ImageCategory item, int count) {
-    ImageIcon icon;
-
-    try {
-      InputStream imageStream = getClass().getResourceAsStream(item.getFilePath());
-      icon = new ImageIcon(ImageIO.read(imageStream));
-    } catch (IOException ioe) {
-      throw new IllegalStateException("Cannot find icon location image!");
-    }
-
     JLabel thumbnail = new JLabel();
-    thumbnail.setIcon(icon);
+    thumbnail.setIcon(new ImageIcon(SpriteAtlas.getImage(item)));
     thumbnail.setText(" " + count + " ");
 
     return thumbnail;
@@ -0,0 +1,76 @@
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * This class represents the images of all the visual artifacts of the game, decoded once and
+ * shared by all the panels. The images are copied into images compatible with the screen, so
+ * Java2D can keep them in video memory. When there is no screen, the decoded images are kept.
+ *
+ * <p>The images are shared, so they should never be drawn on.
+ */
+final class SpriteAtlas {
+  private static final Map<ImageCategory, BufferedImage> SPRITES = loadSprites();
+
+  private SpriteAtlas() {
+    // only static methods
+  }
+
+  /**
+   * Method to get the image of a visual artifact.
+   *
+   * @param category the visual artifact
+   * @return the shared image of the artifact
+   */
+  static BufferedImage getImage(ImageCategory category) {
+    return SPRITES.get(category);
+  }
+
+  private static Map<ImageCategory, BufferedImage> loadSprites() {
+    GraphicsConfiguration screen = null;
+    if (!GraphicsEnvironment.isHeadless()) {
+      screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+              .getDefaultConfiguration();
+    }
+
+    Map<ImageCategory, BufferedImage> sprites = new EnumMap<>(ImageCategory.class);
+    for (ImageCategory category : ImageCategory.values()) {
+      BufferedImage decoded = readImage(category.getFilePath());
+
+      if (screen == null) {
+        sprites.put(category, decoded);
+      } else {
+        BufferedImage compatible = screen.createCompatibleImage(decoded.getWidth(),
+                decoded.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g2d = compatible.createGraphics();
+        g2d.drawImage(decoded, 0, 0, null);
+        g2d.dispose();
+
+        sprites.put(category, compatible);
+      }
+    }
+
+    return sprites;
+  }
+
+  private static BufferedImage readImage(String filePath) {
+    try (InputStream imageStream = SpriteAtlas.class.getResourceAsStream(filePath)) {
+      if (imageStream == null) {
+        throw new IllegalStateException("Cannot find image " + filePath + "!");
+      }
+
+      return ImageIO.read(imageStream);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Cannot read image " + filePath + "!");
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package view;
+
+import java.awt.Image;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import model.Location;
+import model.Smell;
+
+/**
+ * This class represents a cache of the images drawn for the dungeon locations. Locations that
+ * look the same share one image, so a repaint only draws images that were built earlier.
+ * When the cache is full, the least recently used image is dropped.
+ *
+ * <p>An image is identified by everything that changes how a location is drawn: its possible
+ * directions, if it has a living Otyugh, if the player is there, the smell shown with the
+ * player, if it is visited, and the size of the image.
+ */
+class TileCache {
+  private final Map<Long, Image> tiles;
+
+  /**
+   * Constructor for a tile cache holding at most the given no. of images.
+   *
+   * @param capacity the maximum no. of images kept
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public TileCache(int capacity) throws IllegalArgumentException {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Tile cache capacity should be positive!");
+    }
+
+    this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Image> eldest) {
+        return this.size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Method to get the image of a location, building it if it is not cached.
+   *
+   * @param loc    the location to be drawn
+   * @param player if the player is at the location
+   * @param width  the width of the image
+   * @param height the height of the image
+   * @return the image of the location
+   */
+  Image getTile(Location loc, boolean player, int width, int height) {
+    long key = getKey(loc, player, width, height);
+
+    Image tile = this.tiles.get(key);
+    if (tile == null) {
+      tile = new PanelImage(loc, player, width, height).getImage();
+      this.tiles.put(key, tile);
+    }
+
+    return tile;
+  }
+
+  private static long getKey(Location loc, boolean player, int width, int height) {
+    long key = ((long) width << 32) | ((long) height << 16);
+
+    // unvisited locations are all drawn blank
+    if (!loc.isVisited()) {
+      return key;
+    }
+
+    boolean otyugh = loc.hasMonster() && loc.getMonster().isAlive();
+    // the smell is only drawn along with the player
+    Smell smell = player ? loc.getSmell() : Smell.NONE;
+
+    return key | 1L << 8 | (otyugh ? 1L : 0L) << 7 | (player ? 1L : 0L) << 6
+            | (long) smell.ordinal() << 4 | loc.getDirectionMask();
+  }
+}
@@ -3,6 +3,7 @@ package mock;
 import java.io.IOException;
 
 import model.Direction;
+import model.GameChangeListener;
 import model.GameModel;
 import model.IDungeon;
 import model.IPlayer;
@@ -45,6 +46,16 @@ public class MockGameModel implements GameModel {
     }
   }
 
+  @Override
+  public void pickItem(Item i, int count) {
+    try {
+      this.logger.append("player picked ").append(String.valueOf(count)).append(" ")
+              .append(i.getName()).append("\n");
+    } catch (IOException ioe) {
+      // do nothing
+    }
+  }
+
   @Override
   public boolean shootArrow(Direction d, int distance) {
     if (distance <= 0 || distance > 5) {
@@ -131,4 +142,14 @@ public class MockGameModel implements GameModel {
   public String getGameState() {
     return null;
   }
+
+  @Override
+  public void addChangeListener(GameChangeListener listener) {
+    // the mock model never changes
+  }
+
+  @Override
+  public void removeChangeListener(GameChangeListener listener) {
+    // the mock model never changes
+  }
 }
@@ -35,6 +35,15 @@ public class MockGameView implements GameView {
     }
   }
 
+  @Override
+  public void setVisible(boolean visible) {
+    try {
+      this.logger.append(visible ? "set visible\n" : "set invisible\n");
+    } catch (IOException ioe) {
+      // do nothing
+    }
+  }
+
   @Override
   public void delete() {
     try {
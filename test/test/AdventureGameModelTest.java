@@ -8,8 +8,10 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
@@ -154,6 +156,41 @@ public class AdventureGameModelTest {
                     .getArrowsLeft()));
   }
 
+  @Test
+  public void testPickAllArrows() {
+    int rows = 4;
+    int cols = 4;
+    int ic = 5;
+    boolean wrap = true;
+    int pct = 50;
+    int diff = 5;
+    AdventureGameModel wrappingGame = new AdventureGameModel(this.rand,
+            rows, cols, wrap, ic, pct, diff);
+
+    Location start = wrappingGame.getPlayer().getCurrentLocation();
+    int arrows = start.itemCount(Weapon.ARROW);
+    assertTrue(arrows > 0);
+
+    wrappingGame.pickItem(Weapon.ARROW, arrows);
+    assertEquals(3 + arrows, wrappingGame.getPlayer().getArrowsLeft());
+    assertEquals(0, start.itemCount(Weapon.ARROW));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPickMoreItemsThanPresent() {
+    int rows = 4;
+    int cols = 4;
+    int ic = 5;
+    boolean wrap = true;
+    int pct = 50;
+    int diff = 5;
+    AdventureGameModel wrappingGame = new AdventureGameModel(this.rand,
+            rows, cols, wrap, ic, pct, diff);
+
+    Location start = wrappingGame.getPlayer().getCurrentLocation();
+    wrappingGame.pickItem(Weapon.ARROW, start.itemCount(Weapon.ARROW) + 1);
+  }
+
   @Test
   public void testNonWrapping() {
     int rows = 4;
@@ -535,6 +572,70 @@ public class AdventureGameModelTest {
     assertEquals(Smell.MORE_PUNGENT, nonWrappingGame.getPlayer().getCurrentLocation().getSmell());
   }
 
+  @Test
+  public void testSmellClearedWhenMonsterKilled() {
+    int rows = 4;
+    int cols = 4;
+    int ic = 2;
+    boolean wrap = false;
+    int pct = 50;
+    int diff = 5;
+    AdventureGameModel nonWrappingGame = new AdventureGameModel(this.rand,
+            rows, cols, wrap, ic, pct, diff);
+
+    Location nearMonster = nonWrappingGame.getDungeon().getLocation(0, 0);
+    assertEquals(Smell.LESS_PUNGENT, nearMonster.getSmell());
+
+    nonWrappingGame.shootArrow(Direction.NORTH, 1);
+    assertEquals(Smell.LESS_PUNGENT, nearMonster.getSmell());
+
+    nonWrappingGame.shootArrow(Direction.NORTH, 1);
+    assertFalse(nonWrappingGame.getDungeon().getLocation(0, 2).getMonster().isAlive());
+    assertEquals(Smell.NONE, nearMonster.getSmell());
+  }
+
+  @Test
+  public void testChangeListenerTold() {
+    int rows = 4;
+    int cols = 4;
+    int ic = 2;
+    boolean wrap = false;
+    int pct = 50;
+    int diff = 5;
+    AdventureGameModel nonWrappingGame = new AdventureGameModel(this.rand,
+            rows, cols, wrap, ic, pct, diff);
+
+    List<List<Location>> changes = new ArrayList<>();
+    nonWrappingGame.addChangeListener(changes::add);
+
+    Location start = nonWrappingGame.getPlayer().getCurrentLocation();
+    nonWrappingGame.shootArrow(Direction.NORTH, 1);
+    Smell[] smells = new Smell[rows * cols];
+    for (int i = 0; i < rows * cols; i++) {
+      smells[i] = nonWrappingGame.getDungeon().getLocation(i).getSmell();
+    }
+    nonWrappingGame.shootArrow(Direction.NORTH, 1);
+    nonWrappingGame.movePlayer(Direction.NORTH);
+
+    // the killed monster, then every location whose smell went along with it
+    Location target = nonWrappingGame.getDungeon().getLocation(0, 2);
+    List<Location> killed = new ArrayList<>(List.of(target));
+    for (int i = 0; i < rows * cols; i++) {
+      Location location = nonWrappingGame.getDungeon().getLocation(i);
+      if (location.getSmell() != smells[i] && !location.equals(target)) {
+        killed.add(location);
+      }
+    }
+
+    assertEquals(3, changes.size());
+    assertEquals(List.of(), changes.get(0));
+    assertEquals(killed.size(), changes.get(1).size());
+    assertTrue(changes.get(1).containsAll(killed));
+    assertEquals(target, changes.get(1).get(0));
+    assertEquals(List.of(start, nonWrappingGame.getPlayer().getCurrentLocation()),
+            changes.get(2));
+  }
+
   @Test
   public void testInitialArrowCount() {
     int rows = 4;
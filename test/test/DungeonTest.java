@@ -3,9 +3,35 @@ package test;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
 
+import model.AdventureGameModel;
 import model.Dungeon;
+import model.Direction;
+import model.DungeonGrid;
+import model.GenerationOptions;
+import model.GenerationPhase;
+import model.GenerationStats;
+import model.GenerationStep;
+import model.IDungeon;
+import model.Location;
+import model.MazeAlgorithm;
+import model.Item;
+import model.PathSelection;
+import model.PopulationMode;
+import model.StreamedDungeon;
+import model.Treasure;
+import model.Weapon;
 import utils.Randomizer;
 
 /**
@@ -49,4 +75,492 @@ public class DungeonTest {
     Dungeon dungeon = new Dungeon(5, -2, true, -1,
             150, -5, this.rand);
   }
-}
\ No newline at end of file
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGenerationOptions() {
+    Dungeon dungeon = new Dungeon(6, 6, false, 2,
+            20, 5, null, this.rand);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPathSelection() {
+    new GenerationOptions().withPathSelection(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidStartSearchBatch() {
+    new GenerationOptions().withParallelStartSearch(0);
+  }
+
+  @Test
+  public void testParallelStartSearchFindsSameEndpoints() {
+    Dungeon sequential = new Dungeon(12, 12, false, 0, 20, 5,
+            new GenerationOptions(), new Randomizer(3).getRandom());
+    Dungeon parallel = new Dungeon(12, 12, false, 0, 20, 5,
+            new GenerationOptions().withParallelStartSearch(4), new Randomizer(3).getRandom());
+
+    assertEquals(sequential.getStart().getCoordinates()[0],
+            parallel.getStart().getCoordinates()[0]);
+    assertEquals(sequential.getStart().getCoordinates()[1],
+            parallel.getStart().getCoordinates()[1]);
+    assertEquals(sequential.getEnd().getCoordinates()[0], parallel.getEnd().getCoordinates()[0]);
+    assertEquals(sequential.getEnd().getCoordinates()[1], parallel.getEnd().getCoordinates()[1]);
+  }
+
+  @Test
+  public void testUnorderedPathSelectionIsDeterministic() {
+    Dungeon first = new Dungeon(8, 8, true, 3, 20, 5,
+            new GenerationOptions().withPathSelection(PathSelection.UNORDERED),
+            new Randomizer(7).getRandom());
+    Dungeon second = new Dungeon(8, 8, true, 3, 20, 5,
+            new GenerationOptions().withPathSelection(PathSelection.UNORDERED),
+            new Randomizer(7).getRandom());
+
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 8; col++) {
+        assertEquals(first.getLocation(row, col).getPossibleDirections(),
+                second.getLocation(row, col).getPossibleDirections());
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGenerationListener() {
+    new GenerationOptions().withListener(null);
+  }
+
+  @Test
+  public void testGenerationProgress() {
+    List<GenerationPhase> phases = new ArrayList<>();
+    List<int[]> progress = new ArrayList<>();
+    Dungeon dungeon = new Dungeon(10, 12, true, 10, 70, 8,
+            new GenerationOptions().withListener((phase, done, total) -> {
+              phases.add(phase);
+              progress.add(new int[]{done, total});
+            }), new Randomizer(42).getRandom());
+    Dungeon silent = new Dungeon(10, 12, true, 10, 70, 8,
+            new GenerationOptions(), new Randomizer(42).getRandom());
+
+    // every phase starts at 0, ends at its total and runs in order
+    assertEquals(GenerationPhase.PATHS, phases.get(0));
+    assertEquals(0, progress.get(0)[0]);
+    assertEquals(GenerationPhase.POPULATION, phases.get(phases.size() - 1));
+    for (int i = 1; i < phases.size(); i++) {
+      assertTrue(phases.get(i - 1).compareTo(phases.get(i)) <= 0);
+      assertTrue(progress.get(i)[0] <= progress.get(i)[1]);
+      if (phases.get(i - 1) != phases.get(i)) {
+        assertEquals(progress.get(i - 1)[1], progress.get(i - 1)[0]);
+        assertEquals(0, progress.get(i)[0]);
+      }
+    }
+
+    // the listener does not change the dungeon built
+    assertEquals(silent.getStart(), dungeon.getStart());
+    assertEquals(silent.getEnd(), dungeon.getEnd());
+    assertEquals(silent.getNoOfCaves(), dungeon.getNoOfCaves());
+  }
+
+  @Test(expected = CancellationException.class)
+  public void testCancelGeneration() {
+    new Dungeon(10, 12, true, 10, 70, 8,
+            new GenerationOptions().withListener((phase, done, total) -> {
+              if (phase == GenerationPhase.START_END) {
+                throw new CancellationException();
+              }
+            }), this.rand);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGenerationStats() {
+    new GenerationOptions().withStats(null);
+  }
+
+  @Test
+  public void testGenerationStats() {
+    GenerationStats stats = new GenerationStats();
+    Dungeon dungeon = new Dungeon(10, 12, true, 10, 70, 8,
+            new GenerationOptions().withStats(stats), new Randomizer(42).getRandom());
+
+    long total = 0;
+    for (GenerationStep step : GenerationStep.values()) {
+      assertTrue(stats.getNanos(step) >= 0);
+      total += stats.getNanos(step);
+    }
+    assertTrue(total > 0);
+    assertEquals(total, stats.getTotalNanos());
+
+    // a tree over 120 locations joins 119 paths, the rest of the drawn paths are retried
+    assertEquals(2 * 10 * 12 - 1 - 119, stats.getRetries(GenerationStep.PATHS));
+    assertEquals(0, stats.getSearches(GenerationStep.PATHS));
+
+    // one search per start candidate, each visiting every location
+    assertEquals(stats.getRetries(GenerationStep.START_END) + 1,
+            stats.getSearches(GenerationStep.START_END));
+    assertEquals(120 * stats.getSearches(GenerationStep.START_END),
+            stats.getVisited(GenerationStep.START_END));
+
+    // the smell of every monster is spread with a search
+    assertEquals(8, stats.getSearches(GenerationStep.MONSTERS));
+    assertTrue(stats.getVisited(GenerationStep.MONSTERS) >= 8);
+
+    Dungeon silent = new Dungeon(10, 12, true, 10, 70, 8,
+            new GenerationOptions(), new Randomizer(42).getRandom());
+    assertEquals(silent.getStart(), dungeon.getStart());
+    assertEquals(silent.getEnd(), dungeon.getEnd());
+  }
+
+  @Test
+  public void testCaveIndex() {
+    Dungeon dungeon = new Dungeon(10, 12, true, 10, 70, 8, this.rand);
+
+    int i = 0;
+    for (int row = 0; row < 10; row++) {
+      for (int col = 0; col < 12; col++) {
+        if (dungeon.getLocation(row, col).isCave()) {
+          assertEquals(dungeon.getLocation(row, col), dungeon.getCave(i));
+          i += 1;
+        }
+      }
+    }
+    assertEquals(i, dungeon.getNoOfCaves());
+    assertEquals(10 * 12 - i, dungeon.getNoOfTunnels());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCaveOutOfBounds() {
+    Dungeon dungeon = new Dungeon(6, 6, false, 2, 20, 5, this.rand);
+
+    dungeon.getCave(dungeon.getNoOfCaves());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPopulationMode() {
+    new GenerationOptions().withPopulationMode(null);
+  }
+
+  @Test
+  public void testShuffledPopulationFillsEveryLocationOnce() {
+    GenerationOptions shuffled = new GenerationOptions()
+            .withPopulationMode(PopulationMode.SHUFFLED);
+    Dungeon dungeon = new Dungeon(10, 12, true, 10, 100, 1, shuffled,
+            new Randomizer(42).getRandom());
+
+    for (int i = 0; i < dungeon.getNoOfCaves(); i++) {
+      Location cave = dungeon.getCave(i);
+      int treasures = 0;
+      for (Item treasure : new Item[]{Treasure.DIAMOND, Treasure.RUBY, Treasure.SAPPHIRE}) {
+        treasures += cave.itemCount(treasure);
+      }
+      assertEquals(1, treasures);
+    }
+
+    for (int row = 0; row < 10; row++) {
+      for (int col = 0; col < 12; col++) {
+        int arrows = dungeon.getLocation(row, col).itemCount(Weapon.ARROW);
+        assertTrue(arrows >= 1 && arrows <= 3);
+      }
+    }
+  }
+
+  @Test
+  public void testShuffledPopulation() {
+    GenerationOptions shuffled = new GenerationOptions()
+            .withPopulationMode(PopulationMode.SHUFFLED);
+    Dungeon first = new Dungeon(10, 12, true, 10, 40, 5, shuffled,
+            new Randomizer(7).getRandom());
+    Dungeon second = new Dungeon(10, 12, true, 10, 40, 5, shuffled,
+            new Randomizer(7).getRandom());
+
+    int treasureCaves = 0;
+    int arrowLocations = 0;
+    for (int row = 0; row < 10; row++) {
+      for (int col = 0; col < 12; col++) {
+        Location location = first.getLocation(row, col);
+        for (Item item : new Item[]{Treasure.DIAMOND, Treasure.RUBY, Treasure.SAPPHIRE,
+            Weapon.ARROW}) {
+          assertEquals(location.itemCount(item), second.getLocation(row, col).itemCount(item));
+        }
+
+        if (location.itemCount(Treasure.DIAMOND) + location.itemCount(Treasure.RUBY)
+                + location.itemCount(Treasure.SAPPHIRE) > 0) {
+          treasureCaves += 1;
+        }
+        if (location.itemCount(Weapon.ARROW) > 0) {
+          arrowLocations += 1;
+        }
+      }
+    }
+
+    assertEquals((int) Math.ceil(0.4 * first.getNoOfCaves()), treasureCaves);
+    assertEquals((int) Math.ceil(0.4 * 10 * 12), arrowLocations);
+  }
+
+  @Test
+  public void testMonstersInEveryCave() {
+    for (PopulationMode mode : PopulationMode.values()) {
+      Dungeon dungeon = new Dungeon(10, 12, true, 10, 20, 1000,
+              new GenerationOptions().withPopulationMode(mode), new Randomizer(42).getRandom());
+
+      int monsters = 0;
+      for (int i = 0; i < dungeon.getNoOfCaves(); i++) {
+        if (dungeon.getCave(i).hasMonster()) {
+          monsters += 1;
+        }
+      }
+
+      // every cave but the start and one more has a monster, as in earlier versions
+      assertEquals(dungeon.getNoOfCaves() - 2, monsters);
+      assertTrue(dungeon.getEnd().hasMonster());
+      assertTrue(!dungeon.getStart().hasMonster());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullMazeAlgorithm() {
+    new GenerationOptions().withMazeAlgorithm(null);
+  }
+
+  @Test
+  public void testMazeAlgorithms() {
+    for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+      for (boolean wrapping : new boolean[]{false, true}) {
+        GenerationOptions options = new GenerationOptions().withMazeAlgorithm(algorithm);
+        Dungeon dungeon = new Dungeon(9, 13, wrapping, 6, 20, 5, options,
+                new Randomizer(11).getRandom());
+        Dungeon again = new Dungeon(9, 13, wrapping, 6, 20, 5, options,
+                new Randomizer(11).getRandom());
+
+        // a perfect maze joins n - 1 paths, the interconnectivity adds the rest
+        int noOfPaths = 0;
+        for (int row = 0; row < 9; row++) {
+          for (int col = 0; col < 13; col++) {
+            noOfPaths += dungeon.getLocation(row, col).getPossibleDirections().size();
+            assertEquals(dungeon.getLocation(row, col).getPossibleDirections(),
+                    again.getLocation(row, col).getPossibleDirections());
+          }
+        }
+        assertEquals(algorithm + " " + wrapping, 2 * (9 * 13 - 1 + 6), noOfPaths);
+        assertEquals(9 * 13, countReachable(dungeon));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMazeAlgorithmInterconnectivity() {
+    // a 2 x 2 grid has 4 potential paths, a perfect maze leaves out just 1
+    new Dungeon(2, 2, false, 2, 20, 1,
+            new GenerationOptions().withMazeAlgorithm(MazeAlgorithm.WILSON), this.rand);
+  }
+
+  private static int countReachable(IDungeon dungeon) {
+    boolean[] seen = new boolean[dungeon.getNoOfCaves() + dungeon.getNoOfTunnels()];
+    Deque<Location> queue = new ArrayDeque<>();
+    queue.add(dungeon.getStart());
+    seen[dungeon.getStart().getIndex()] = true;
+
+    int count = 0;
+    while (!queue.isEmpty()) {
+      Location location = queue.remove();
+      count += 1;
+
+      for (Direction d : location.getPossibleDirections()) {
+        int neighbour = location.getNeighbourIndex(d);
+        if (!seen[neighbour]) {
+          seen[neighbour] = true;
+          queue.add(dungeon.getLocation(neighbour));
+        }
+      }
+    }
+
+    return count;
+  }
+
+  @Test
+  public void testDimensions() {
+    Dungeon dungeon = new Dungeon(6, 7, false, 2, 20, 5, this.rand);
+
+    assertEquals(6, dungeon.getNoOfRows());
+    assertEquals(7, dungeon.getNoOfColumns());
+  }
+
+  @Test
+  public void testPlaceMonsters() {
+    Dungeon dungeon = new Dungeon(10, 10, false, 0, 20, 1, this.rand);
+    List<Integer> empty = new ArrayList<>();
+    int occupied = -1;
+    for (int i = 0; i < dungeon.getNoOfCaves(); i++) {
+      Location cave = dungeon.getCave(i);
+      if (cave.hasMonster()) {
+        occupied = cave.getIndex();
+      } else if (!cave.equals(dungeon.getStart())) {
+        empty.add(cave.getIndex());
+      }
+    }
+
+    try {
+      dungeon.placeMonsters(new int[]{empty.get(0), occupied});
+      fail("A cave with a monster should not take another one!");
+    } catch (IllegalStateException ise) {
+      // nothing is placed if any cave is not valid
+      assertTrue(!dungeon.getLocation(empty.get(0)).hasMonster());
+    }
+
+    dungeon.placeMonsters(new int[]{empty.get(0), empty.get(1)});
+    assertTrue(dungeon.getLocation(empty.get(0)).hasMonster());
+    assertTrue(dungeon.getLocation(empty.get(1)).hasMonster());
+  }
+
+  @Test
+  public void testLocationIdentity() {
+    Dungeon dungeon = new Dungeon(6, 7, false, 2, 20, 5, this.rand);
+    Location location = dungeon.getLocation(4, 3);
+
+    assertEquals(4 * 7 + 3, location.getIndex());
+    assertEquals(location, dungeon.getLocation(location.getIndex()));
+    assertEquals(location.hashCode(), dungeon.getLocation(4, 3).hashCode());
+    assertNotEquals(location, dungeon.getLocation(3, 4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGridInvalidRows() {
+    DungeonGrid dungeon = new DungeonGrid(0, 5, true, 5,
+            20, 5, new GenerationOptions(), this.rand);
+  }
+
+  @Test
+  public void testGridMatchesDungeon() {
+    Dungeon dungeon = new Dungeon(10, 12, true, 10, 70, 8,
+            new GenerationOptions(), new Randomizer(42).getRandom());
+    DungeonGrid grid = new DungeonGrid(10, 12, true, 10, 70, 8,
+            new GenerationOptions(), new Randomizer(42).getRandom());
+
+    assertEquals(dungeon.getNoOfCaves(), grid.getNoOfCaves());
+    assertEquals(dungeon.getStart().getCoordinates()[0], grid.getStart().getCoordinates()[0]);
+    assertEquals(dungeon.getStart().getCoordinates()[1], grid.getStart().getCoordinates()[1]);
+
+    for (int row = 0; row < 10; row++) {
+      for (int col = 0; col < 12; col++) {
+        Location expected = dungeon.getLocation(row, col);
+        Location actual = grid.getLocation(row, col);
+
+        assertEquals(expected.getPossibleDirections(), actual.getPossibleDirections());
+        assertEquals(expected.getContent().size(), actual.getContent().size());
+        assertEquals(expected.hasMonster(), actual.hasMonster());
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStreamedInvalidRows() {
+    new StreamedDungeon(5, 10, false, 0, 20, 1, new GenerationOptions(), this.rand);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStreamedInvalidColumns() {
+    new StreamedDungeon(10, 3, false, 0, 20, 1, new GenerationOptions(), this.rand);
+  }
+
+  @Test
+  public void testStreamedBuildsRowsLazily() {
+    try (StreamedDungeon dungeon = new StreamedDungeon(100, 8, true, 10, 20, 12,
+            new GenerationOptions(), this.rand)) {
+      assertEquals(0, dungeon.getNoOfRowsBuilt());
+
+      Location start = dungeon.getStart();
+      assertEquals(0, start.getCoordinates()[0]);
+      assertTrue(start.isCave());
+      assertEquals(1, dungeon.getNoOfRowsBuilt());
+
+      // the smell comes from up to 2 rows away
+      start.getSmell();
+      assertEquals(3, dungeon.getNoOfRowsBuilt());
+
+      Location end = dungeon.getEnd();
+      assertEquals(99, end.getCoordinates()[0]);
+      assertEquals(3, dungeon.getNoOfRowsBuilt());
+      assertTrue(end.isCave());
+      assertTrue(end.hasMonster());
+      assertEquals(100, dungeon.getNoOfRowsBuilt());
+    }
+  }
+
+  @Test
+  public void testStreamedStartAndEndAreCaves() {
+    for (int seed = 0; seed < 500; seed++) {
+      try (StreamedDungeon dungeon = new StreamedDungeon(8, 6, seed % 2 == 0, 30, 20, 5,
+              new GenerationOptions(), new Randomizer(seed).getRandom())) {
+        assertTrue(dungeon.getStart().isCave());
+        assertTrue(dungeon.getEnd().isCave());
+      }
+    }
+  }
+
+  @Test
+  public void testStreamedIsConnectedAndPopulated() {
+    for (boolean wrapping : new boolean[]{false, true}) {
+      try (StreamedDungeon dungeon = new StreamedDungeon(150, 9, wrapping, 20, 50, 30,
+              new GenerationOptions(), this.rand)) {
+        assertEquals(150 * 9, countReachable(dungeon));
+        assertEquals(150 * 9, dungeon.getNoOfCaves() + dungeon.getNoOfTunnels());
+
+        int monsters = 0;
+        int treasureCaves = 0;
+        for (int i = 0; i < dungeon.getNoOfCaves(); i++) {
+          Location cave = dungeon.getCave(i);
+          assertTrue(cave.isCave());
+
+          if (cave.hasMonster()) {
+            monsters += 1;
+          }
+          if (cave.itemCount(Treasure.DIAMOND) + cave.itemCount(Treasure.RUBY)
+                  + cave.itemCount(Treasure.SAPPHIRE) > 0) {
+            treasureCaves += 1;
+          }
+        }
+        assertEquals(30, monsters);
+        assertTrue(treasureCaves >= dungeon.getNoOfCaves() / 2);
+        assertTrue(!dungeon.getStart().hasMonster());
+      }
+    }
+  }
+
+  @Test
+  public void testStreamedIgnoresAccessOrder() {
+    try (StreamedDungeon inOrder = new StreamedDungeon(200, 6, false, 15, 30, 20,
+            new GenerationOptions(), new Randomizer(7).getRandom());
+         StreamedDungeon lastFirst = new StreamedDungeon(200, 6, false, 15, 30, 20,
+                 new GenerationOptions(), new Randomizer(7).getRandom())) {
+      lastFirst.getLocation(199, 5).getSmell();
+
+      // the rows compared first were spilled to disk while building the last ones
+      for (int row = 0; row < 200; row++) {
+        for (int col = 0; col < 6; col++) {
+          Location expected = inOrder.getLocation(row, col);
+          Location actual = lastFirst.getLocation(row, col);
+
+          assertEquals(expected.getPossibleDirections(), actual.getPossibleDirections());
+          assertEquals(expected.getContent(), actual.getContent());
+          assertEquals(expected.hasMonster(), actual.hasMonster());
+          assertEquals(expected.getSmell(), actual.getSmell());
+        }
+      }
+      assertEquals(inOrder.getEnd().getIndex(), lastFirst.getEnd().getIndex());
+    }
+  }
+
+  @Test
+  public void testStreamedKeepsSpilledRows() {
+    try (StreamedDungeon dungeon = new StreamedDungeon(300, 5, true, 0, 60, 3,
+            new GenerationOptions(), this.rand)) {
+      AdventureGameModel model = new AdventureGameModel(dungeon);
+      List<Item> content = dungeon.getStart().getContent();
+
+      dungeon.getLocation(299, 0);
+
+      assertTrue(dungeon.getStart().isVisited());
+      assertEquals(content, dungeon.getStart().getContent());
+      assertEquals(dungeon.getStart(), model.getPlayer().getCurrentLocation());
+      assertTrue(!dungeon.getLocation(150, 0).isVisited());
+    }
+  }
+}
@@ -3,15 +3,21 @@ package test;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.swing.SwingUtilities;
+
 import controller.GuiGameController;
 import mock.MockGameModel;
 import mock.MockGameView;
 import model.AdventureGameModel;
+import model.Direction;
 import model.GameModel;
+import model.Location;
 import utils.Randomizer;
 import view.GameView;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * This class represents a JUnit test for GUI-based Controller class.
@@ -90,10 +96,44 @@ public class GuiGameControllerTest {
             + "player shoots west over a distance of 4\nrepaint was called\n"
             + "showed message dialog\n"
             + ""
-            + "set invisible and disposed\n",
+            + "set invisible\n",
             log.toString());
   }
 
+  @Test
+  public void testCancelledNewGameKeepsView() throws Exception {
+    StringBuilder log = new StringBuilder();
+    GameView view = new MockGameView(log);
+    GameModel model = new AdventureGameModel(new Randomizer(42).getRandom(),
+            5, 5, false, 0, 50, 5);
+    controller = new GuiGameController(model, view,
+            new String[]{"400", "400", "true", "0", "20", "5", "gui"});
+
+    Location start = model.getPlayer().getCurrentLocation();
+    Direction d = start.getPossibleDirections().iterator().next();
+    model.movePlayer(d);
+    Location visited = model.getPlayer().getCurrentLocation();
+
+    controller.resetGame();
+    assertTrue(controller.cancelNewGame());
+    // the cancelled generation is handled on the event dispatch thread, a little later
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!log.toString().endsWith("focus was reset\n")
+            && System.currentTimeMillis() < deadline) {
+      SwingUtilities.invokeAndWait(() -> { });
+      Thread.sleep(10);
+    }
+
+    assertEquals("set invisible\n"
+            + "set visible\n"
+            + "added action listeners\nadded keyboard listener\nadded mouse listener\n"
+            + "focus was reset\n", log.toString());
+    assertTrue(start.isVisited());
+    assertTrue(visited.isVisited());
+    assertEquals(visited, model.getPlayer().getCurrentLocation());
+    assertFalse(controller.cancelNewGame());
+  }
+
   @Test
   public void testClickFeature() {
     StringBuilder log = new StringBuilder();